@@ -0,0 +1,87 @@
+package com.demo.community.posts.cache;
+
+import com.demo.community.common.counter.DeltaAccumulator;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 인기 글 하나에 좋아요가 몰릴 때 처리량 비교
+// perClickUpdate: 클릭마다 posts_counts 한 행 UPDATE (행 락에 줄을 섬)
+// coalesced: LikeCountAggregator 와 같은 방식으로 메모리에 합치고 200ms 마다 UPDATE 한 번
+// ./gradlew jmh
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HotPostLikeBenchmark {
+
+    private static final long HOT_POST = 1L;
+    private static final String UPDATE = "UPDATE posts_counts SET like_counts = like_counts + ? WHERE id = ?";
+
+    JdbcConnectionPool pool;
+    DeltaAccumulator likes;
+    ScheduledExecutorService flusher;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        pool = JdbcConnectionPool.create("jdbc:h2:mem:likebench;MODE=MYSQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        pool.setMaxConnections(32);
+        try (Connection con = pool.getConnection(); Statement st = con.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS posts_counts (id BIGINT PRIMARY KEY, like_counts INT NOT NULL)");
+            st.execute("MERGE INTO posts_counts KEY (id) VALUES (" + HOT_POST + ", 0)");
+        }
+
+        likes = new DeltaAccumulator();
+        flusher = Executors.newSingleThreadScheduledExecutor();
+        flusher.scheduleWithFixedDelay(this::flush, 200, 200, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+        pool.dispose();
+    }
+
+    @Benchmark
+    public int perClickUpdate() throws SQLException {
+        try (Connection con = pool.getConnection(); PreparedStatement ps = con.prepareStatement(UPDATE)) {
+            ps.setLong(1, 1);
+            ps.setLong(2, HOT_POST);
+            return ps.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public void coalesced() {
+        likes.add(HOT_POST, 1);
+    }
+
+    private void flush() {
+        Map<Long, Long> drained = likes.drain();
+        if (drained.isEmpty()) {return;}
+        try (Connection con = pool.getConnection(); PreparedStatement ps = con.prepareStatement(UPDATE)) {
+            for (Map.Entry<Long, Long> e : drained.entrySet()) {
+                ps.setLong(1, e.getValue());
+                ps.setLong(2, e.getKey());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            likes.complete(drained);
+        } catch (SQLException ex) {
+            likes.restore(drained);
+        }
+    }
+}
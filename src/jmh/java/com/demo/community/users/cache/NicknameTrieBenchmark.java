@@ -0,0 +1,74 @@
+package com.demo.community.users.cache;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 닉네임 트리 구성 시간 / 접두어 검색 시간 / 닉네임당 메모리
+// ./gradlew jmh  (gc 프로파일러의 gc.alloc.rate.norm 이 구성 한 번에 드는 할당량)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class NicknameTrieBenchmark {
+
+    private static final String SYLLABLES = "가나다라마바사아자차카타파하민준서윤지호";
+
+    @Param({"10000", "100000"})
+    int entries;
+
+    List<String> nicknames;
+    NicknameTrie trie;
+    String[] prefixes;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        nicknames = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            nicknames.add(randomNickname(random));
+        }
+        trie = NicknameTrie.of(nicknames);
+
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String name = nicknames.get(random.nextInt(entries));
+            prefixes[i] = name.substring(0, 1 + random.nextInt(Math.min(3, name.length())));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%n[nickname trie] entries=%d bytes=%d bytes/entry=%.1f%n",
+                trie.size(), trie.estimateBytes(), (double) trie.estimateBytes() / trie.size());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public NicknameTrie build() {
+        return NicknameTrie.of(nicknames);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void suggest(Blackhole bh) {
+        bh.consume(trie.suggest(prefixes[next++ & (prefixes.length - 1)], 10));
+    }
+
+    private static String randomNickname(Random random) {
+        int length = 2 + random.nextInt(5);
+        StringBuilder sb = new StringBuilder(length + 4);
+        for (int i = 0; i < length; i++) {
+            sb.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+        }
+        if (random.nextBoolean()) {sb.append(random.nextInt(1000));}
+        return sb.toString();
+    }
+}
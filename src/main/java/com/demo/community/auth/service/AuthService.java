@@ -41,7 +41,8 @@ public class AuthService {
     public AuthResponseDTO.LoginResponse verifyUser(
             String email, String password, HttpServletRequest request, HttpServletResponse response)
     {
-        Optional<Users> user = userRepository.findFirstByEmail(email);
+        // 탈퇴 처리 중인 회원은 없는 회원과 같게
+        Optional<Users> user = userRepository.findFirstByEmail(email).filter(u -> !u.isDeleted());
         if(user.isEmpty()){
             // exception 으로 바로 오류코드와 함께 응답 반환하게 변경
             return null;
@@ -93,14 +94,14 @@ public class AuthService {
             return "AUTH_RT_EXPIRED";
         }
 
+        // 로그인과 같은 클레임으로 발급해야 하므로 users 를 읽음 (재발급은 회원당 액세스 토큰 수명마다 한 번). 탈퇴 처리 중이면 없는 회원과 같게
         Long userId = Long.valueOf(parsedRefreshToken.getBody().getSubject());
-        Users user = userRepository.findById(userId).orElse(null);
-
-        if (user == null) {
+        Optional<Users> user = userRepository.findById(userId).filter(u -> !u.isDeleted());
+        if (user.isEmpty()) {
             return null;
         }
 
-        return jwtProvider.createAccessToken(userId, user.getEmail());
+        return jwtProvider.createAccessToken(user.get().getId(), user.get().getEmail());
     }
 
     // 쿠키에서 토큰 추출 (Refresh Token)
@@ -0,0 +1,116 @@
+package com.demo.community.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * 키 해시로 나눈 여러 개의 작은 LRU 로 이루어진 캐시.
+ * <p>
+ * 조회/저장은 키가 속한 조각 하나만 잠그므로 서로 다른 키의 요청이 락 하나에 줄을 서지 않는다.
+ * LRU 순서와 용량은 조각 단위로 관리되므로 전체로 보면 근사 LRU 다 (조각마다 capacity / stripes 개).
+ * 밀려난 항목은 onEvict 로 알려준다 (조각 락 안에서 호출되므로 짧은 작업만).
+ */
+public final class StripedLruCache<K, V> {
+
+    private static final int DEFAULT_STRIPES = 16;
+
+    private final Stripe<K, V>[] stripes;
+    private final LongAdder evictions = new LongAdder();
+
+    public StripedLruCache(int capacity) {
+        this(capacity, (key, value) -> {});
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedLruCache(int capacity, BiConsumer<K, V> onEvict) {
+        int count = Math.max(1, Math.min(DEFAULT_STRIPES, capacity));
+        int perStripe = Math.max(1, capacity / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(perStripe, (key, value) -> {
+                evictions.increment();
+                onEvict.accept(key, value);
+            });
+        }
+    }
+
+    public V get(K key) {
+        Stripe<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    public void put(K key, V value) {
+        Stripe<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.put(key, value);
+        }
+    }
+
+    // 있으면 remapping 결과로 바꿈 (null 이면 제거). 조각 락 안에서 호출되므로 짧은 작업만
+    public V computeIfPresent(K key, UnaryOperator<V> remapping) {
+        Stripe<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            V value = stripe.get(key);
+            if (value == null) {return null;}
+            V next = remapping.apply(value);
+            if (next == null) {
+                stripe.remove(key);
+            } else if (next != value) {
+                stripe.put(key, next);
+            }
+            return next;
+        }
+    }
+
+    public V remove(K key) {
+        Stripe<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.remove(key);
+        }
+    }
+
+    // 용량 초과로 밀려난 누적 수
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe<K, V> stripe(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[Math.floorMod(h, stripes.length)];
+    }
+
+    private static final class Stripe<K, V> extends LinkedHashMap<K, V> {
+
+        private final int capacity;
+        private final BiConsumer<K, V> onEvict;
+
+        Stripe(int capacity, BiConsumer<K, V> onEvict) {
+            super(Math.min(capacity, 1 << 12) * 4 / 3 + 1, 0.75f, true);
+            this.capacity = capacity;
+            this.onEvict = onEvict;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() <= capacity) {return false;}
+            onEvict.accept(eldest.getKey(), eldest.getValue());
+            return true;
+        }
+    }
+}
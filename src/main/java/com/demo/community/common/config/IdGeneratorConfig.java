@@ -0,0 +1,20 @@
+package com.demo.community.common.config;
+
+import com.demo.community.common.id.IdGenerator;
+import com.demo.community.common.id.IdGenerators;
+import com.demo.community.common.id.Snowflake;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// ids.node-id 는 인스턴스마다 달라야 함 (0 ~ Snowflake.MAX_NODE)
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${ids.node-id:0}") int nodeId) {
+        IdGenerator generator = new Snowflake(nodeId);
+        IdGenerators.install(generator);
+        return generator;
+    }
+}
@@ -2,6 +2,7 @@ package com.demo.community.common.controller;
 
 import com.demo.community.common.dto.ApiResponse;
 import com.demo.community.common.service.TestService;
+import com.demo.community.users.cache.AuthorCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,11 +14,13 @@ import java.util.Map;
 @RestController
 public class PingController {
     private final TestService testService;
+    private final AuthorCache authorCache;
 
     // 생성자 1개 → @Autowired 생략 가능
     // 혹은 아래를 아예 생략하고 @RequiredArgsController 어노테이션을 클래스에 붙여줘도 됨.
-    public PingController(TestService testService) {
+    public PingController(TestService testService, AuthorCache authorCache) {
         this.testService = testService;
+        this.authorCache = authorCache;
     }
 
     @GetMapping("/ping")
@@ -40,6 +43,12 @@ public class PingController {
         return ResponseEntity.ok(new ApiResponse<>("GET response ok", null));
     }
 
+    // 작성자 캐시 적중/미스/밀려남 수
+    @GetMapping("/status/author-cache")
+    public ResponseEntity<ApiResponse<AuthorCache.Stats>> getAuthorCacheStats() {
+        return ResponseEntity.ok(new ApiResponse<>("author cache stats", authorCache.stats()));
+    }
+
     @DeleteMapping("/status")
     public ResponseEntity<ApiResponse<Void>>  deleteCheck() {
         return ResponseEntity.ok(new ApiResponse<>("DELETE response ok", null));
@@ -0,0 +1,70 @@
+package com.demo.community.common.counter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 키(글 id)별 카운터 증분을 메모리에 모았다가 한 번에 반영하기 위한 누산기.
+ * <p>
+ * 키마다 (누산 중, 반영 중) 두 값을 한 엔트리로 들고 있고, 모든 변경은 ConcurrentHashMap.compute 로 엔트리 단위 원자적으로 일어난다.
+ * 그래서 drain() 이 엔트리를 지우는 순간에 들어온 add() 가 사라지지 않고, pending() 은 항상 한 시점의 합을 본다.
+ * 같은 키의 add() 끼리는 해시 빈 락을 잠깐 잡지만, 키가 다르면 서로 막지 않는다.
+ * drain() 으로 꺼낸 증분은 반영이 끝날 때까지 반영 중으로 남아 있어서 pending() 에서 계속 보이고,
+ * 반영에 성공하면 complete(), 실패하면 restore() 로 다시 누산 중으로 돌려놓는다.
+ * drain/complete/restore 는 한 스레드(flush 하는 쪽)에서만 호출한다고 가정.
+ */
+public class DeltaAccumulator {
+
+    private record Delta(long pending, long inFlight) {
+        boolean isEmpty() {
+            return pending == 0 && inFlight == 0;
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Delta> deltas = new ConcurrentHashMap<>();
+
+    public void add(Long key, long delta) {
+        deltas.compute(key, (k, cur) -> {
+            Delta next = cur == null ? new Delta(delta, 0) : new Delta(cur.pending() + delta, cur.inFlight());
+            return next.isEmpty() ? null : next;
+        });
+    }
+
+    // 아직 반영되지 않은 증분 (누산 중 + 반영 중)
+    public long pending(Long key) {
+        Delta d = deltas.get(key);
+        return d == null ? 0 : d.pending() + d.inFlight();
+    }
+
+    // 모인 증분을 꺼냄 (0 인 키는 빠짐). 꺼낸 값은 complete/restore 전까지 반영 중으로 남음
+    public Map<Long, Long> drain() {
+        Map<Long, Long> drained = new HashMap<>();
+        for (Long key : deltas.keySet()) {
+            deltas.computeIfPresent(key, (k, cur) -> {
+                if (cur.pending() == 0) {
+                    return cur.isEmpty() ? null : cur;
+                }
+                drained.put(k, cur.pending());
+                return new Delta(0, cur.inFlight() + cur.pending());
+            });
+        }
+        return drained;
+    }
+
+    public void complete(Map<Long, Long> drained) {
+        drained.forEach((key, delta) -> settle(key, delta, 0));
+    }
+
+    public void restore(Map<Long, Long> drained) {
+        drained.forEach((key, delta) -> settle(key, delta, delta));
+    }
+
+    // 반영 중에서 delta 를 빼고, 그중 back 만큼을 다시 누산 중으로 돌려놓음
+    private void settle(Long key, long delta, long back) {
+        deltas.computeIfPresent(key, (k, cur) -> {
+            Delta next = new Delta(cur.pending() + back, cur.inFlight() - delta);
+            return next.isEmpty() ? null : next;
+        });
+    }
+}
@@ -3,6 +3,7 @@ package com.demo.community.common.filter;
 import com.demo.community.auth.jwt.JwtProvider;
 import com.demo.community.common.dto.ApiResponse;
 import com.demo.community.common.domain.entity.SessionErrorCode;
+import com.demo.community.users.cache.DeletedUserIds;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
@@ -27,23 +28,28 @@ import java.util.Optional;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtProvider jwtProvider;
+    private final DeletedUserIds deletedUserIds;
 
     private record Exclusion(HttpMethod method, String path){}
 
     private static final List<Exclusion> EXCLUSIONS = List.of(
             new Exclusion(HttpMethod.POST, "/auth"),
             new Exclusion(HttpMethod.GET, "/posts"),
+            new Exclusion(HttpMethod.GET, "/posts/search"),
 //            new Exclusion(HttpMethod.GET, "/posts/*"),
+            // EventSource 는 Authorization 헤더를 못 붙이므로 공개
+            new Exclusion(HttpMethod.GET, "/posts/*/events"),
             new Exclusion(HttpMethod.GET, "/replies/*"),
             new Exclusion(HttpMethod.POST, "/users"),
+            new Exclusion(HttpMethod.GET, "/users/nicknames"),
+            new Exclusion(HttpMethod.GET, "/users/*/posts"),
             new Exclusion(HttpMethod.POST, "/users/availability/*"),
             new Exclusion(HttpMethod.POST, "/users/image"),
             new Exclusion(HttpMethod.GET, "/uploads/**"),
             new Exclusion(HttpMethod.GET, "/ping")
     );
 
-    @Override
-    protected boolean shouldNotFilter(HttpServletRequest request) {
+    private boolean isPublic(HttpServletRequest request) {
         String path = request.getRequestURI();
         String method = request.getMethod();
 
@@ -61,6 +67,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         Optional<String> accessToken = extractTokenFromHeader(request);
 
+        // 공개 API: 토큰이 있으면 유저 정보만 채우고 (목록의 좋아요 여부 등), 없거나 만료돼도 그대로 통과
+        if (isPublic(request)) {
+            accessToken.flatMap(this::parseUserId)
+                    .filter(this::isActiveUser)
+                    .ifPresent(userId -> request.setAttribute("userId", userId));
+            chain.doFilter(request, response);
+            return;
+        }
+
         // 액세스 토큰이 헤더에 없을 경우
         if (accessToken.isEmpty()){
             // 헤더에 액세스 토큰을 포함시키세요
@@ -69,12 +84,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         // 만료된 액세스 토큰일 때
-        if (!validateAndSetAttributes(accessToken.get(), request)){
+        Optional<Long> userId = parseUserId(accessToken.get());
+        if (userId.isEmpty()){
             // 액세스 토큰이 만료되었습니다. 리프레시 토큰으로 재발급 받으세요.
             writeError(response, HttpServletResponse.SC_UNAUTHORIZED, SessionErrorCode.AUTH_AT_EXPIRED, "access token expired, get a new token");
             return;
         }
 
+        // 탈퇴했거나 탈퇴 처리 중인 회원의 토큰은 만료 전이어도 받지 않음
+        if (!isActiveUser(userId.get())){
+            writeError(response, HttpServletResponse.SC_UNAUTHORIZED, SessionErrorCode.AUTH_INVALID, "user not found");
+            return;
+        }
+
+        request.setAttribute("userId", userId.get());
         chain.doFilter(request, response);
     }
 
@@ -86,18 +109,23 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     }
 
 
-    private boolean validateAndSetAttributes(String token, HttpServletRequest request) {
+    // 유효한 토큰이면 subject 의 회원 id
+    private Optional<Long> parseUserId(String token) {
         try {
             var jws = jwtProvider.parse(token);
             Claims body = jws.getBody();
-            request.setAttribute("userId", Long.valueOf(body.getSubject()));
             //request.setAttribute("role", body.get("role"));
-            return true;
+            return Optional.of(Long.valueOf(body.getSubject()));
         } catch (Exception exception) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    // 탈퇴 회원 id 집합만 보므로 매 요청 DB 를 거치지 않음
+    private boolean isActiveUser(Long userId) {
+        return !deletedUserIds.contains(userId);
+    }
+
 
     private void writeError(HttpServletResponse response, int status, SessionErrorCode code, String message) throws IOException {
         response.setStatus(status);
@@ -0,0 +1,6 @@
+package com.demo.community.common.id;
+
+// 애플리케이션에서 엔티티 id 를 발급하는 방식. 기본 구현은 Snowflake
+public interface IdGenerator {
+    long nextId();
+}
@@ -0,0 +1,26 @@
+package com.demo.community.common.id;
+
+/**
+ * Hibernate id 생성기(SnowflakeIdGenerator) 와 네이티브 insert 가 함께 쓰는 발급기 보관소.
+ * <p>
+ * Hibernate 가 만드는 생성기는 스프링 빈이 아니라서, 기동 시 IdGeneratorConfig 가 설정값으로 만든 발급기를 여기에 설치한다.
+ * 설치 전에는 노드 0 의 Snowflake 를 쓴다.
+ */
+public final class IdGenerators {
+
+    private static volatile IdGenerator current = new Snowflake(0);
+
+    private IdGenerators() {}
+
+    public static IdGenerator current() {
+        return current;
+    }
+
+    public static long nextId() {
+        return current.nextId();
+    }
+
+    public static void install(IdGenerator generator) {
+        current = generator;
+    }
+}
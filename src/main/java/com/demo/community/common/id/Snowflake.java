@@ -0,0 +1,53 @@
+package com.demo.community.common.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순으로 커지는 Snowflake 방식 id 발급기.
+ * <p>
+ * id = [EPOCH 이후 밀리초: 41bit][노드: 4bit][밀리초 안 순번: 8bit] (총 53bit).
+ * 자바스크립트 Number 로도 정확히 표현되도록 53bit 안에 맞췄다 (노드 16대, 노드당 밀리초 256개).
+ * 마지막 (시각, 순번) 을 AtomicLong 하나에 묶어 CAS 로만 올리므로 락이 없다.
+ * 같은 밀리초에 순번이 넘치거나 시계가 뒤로 가면 기다리지 않고 마지막 시각에서 이어서 올린다
+ * (순번이 시각 자리로 넘어감). 그래서 한 노드 안에서는 항상 단조 증가한다.
+ * 기존 IDENTITY id 는 이 값들보다 훨씬 작으므로 id 내림차순 커서 정렬이 그대로 유지된다.
+ */
+public final class Snowflake implements IdGenerator {
+
+    // 2024-01-01T00:00:00Z
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    static final int NODE_BITS = 4;
+    static final int SEQUENCE_BITS = 8;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private final long node;
+    // (EPOCH 이후 밀리초 << SEQUENCE_BITS) | 순번
+    private final AtomicLong last = new AtomicLong();
+
+    public Snowflake(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node id must be between 0 and " + MAX_NODE);
+        }
+        this.node = node;
+    }
+
+    @Override
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long prev;
+        long next;
+        do {
+            prev = last.get();
+            next = now > prev ? now : prev + 1;
+        } while (!last.compareAndSet(prev, next));
+
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+
+    // id 가 발급된 시각 (epoch 밀리초)
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+}
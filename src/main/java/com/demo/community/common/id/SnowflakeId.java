@@ -0,0 +1,15 @@
+package com.demo.community.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// @Id 필드에 붙이면 insert 전에 애플리케이션에서 id 를 정함 (IDENTITY 와 달리 insert 를 JDBC 배치로 묶을 수 있음)
+@IdGeneratorType(SnowflakeIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
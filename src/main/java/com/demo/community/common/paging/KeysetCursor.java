@@ -0,0 +1,64 @@
+package com.demo.community.common.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 목록 API 의 불투명(opaque) 커서 토큰.
+ * <p>
+ * 토큰 안에는 페이지 방향(OLDER/NEWER)과 경계 키(마지막으로 본 글/댓글 id 등)가 들어있고,
+ * 클라이언트는 응답의 nextCursor(더 오래된 쪽) 또는 prevCursor(더 새로운 쪽)를 그대로 돌려보내기만 하면 된다.
+ */
+public record KeysetCursor(Direction direction, String key) {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 50;
+
+    public enum Direction { OLDER, NEWER }
+
+    public static KeysetCursor older(Object key) {
+        return new KeysetCursor(Direction.OLDER, String.valueOf(key));
+    }
+
+    public static KeysetCursor newer(Object key) {
+        return new KeysetCursor(Direction.NEWER, String.valueOf(key));
+    }
+
+    public String encode() {
+        String raw = direction.name().charAt(0) + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 잘못된 토큰은 IllegalArgumentException
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            Direction direction = switch (raw.charAt(0)) {
+                case 'O' -> Direction.OLDER;
+                case 'N' -> Direction.NEWER;
+                default -> throw new IllegalArgumentException();
+            };
+            if (raw.charAt(1) != ':' || raw.length() < 3) {throw new IllegalArgumentException();}
+            return new KeysetCursor(direction, raw.substring(2));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+    }
+
+    public long longKey() {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+    }
+
+    public boolean isNewer() {
+        return direction == Direction.NEWER;
+    }
+
+    // 서버가 허용하는 페이지 크기로 보정 (1 ~ MAX_PAGE_SIZE)
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
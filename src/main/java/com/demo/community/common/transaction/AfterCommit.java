@@ -0,0 +1,24 @@
+package com.demo.community.common.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 메모리 캐시/인덱스 갱신은 DB 커밋이 끝난 뒤에만 반영되어야 함 (롤백된 글이 캐시에 남지 않도록).
+// 트랜잭션 밖에서 호출되면 바로 실행.
+public final class AfterCommit {
+
+    private AfterCommit() {}
+
+    public static void run(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
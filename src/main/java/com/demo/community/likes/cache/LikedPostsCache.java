@@ -0,0 +1,149 @@
+package com.demo.community.likes.cache;
+
+import com.demo.community.common.cache.StripedLruCache;
+import com.demo.community.likes.domain.repository.LikesPostsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유저별 "좋아요 누른 글 id" 집합 LRU 캐시.
+ * <p>
+ * 처음 조회될 때 LikesPosts 에서 그 유저의 글 id 를 한 번 읽어오고, 이후에는 좋아요/취소 커밋 후 갱신한다.
+ * 적재는 호출한 쪽 트랜잭션(커넥션)에 그대로 참여한다. 이미 트랜잭션을 들고 있는 요청이 커넥션을 하나 더 잡지 않도록.
+ * 대신 그 트랜잭션의 스냅샷은 적재보다 먼저 잡혔을 수 있으므로, 최근 RECENT_MILLIS 동안 커밋된 좋아요/취소를
+ * 유저별로 기록해 두었다가 적재한 id 집합에 순서대로 다시 적용한다
+ * (추가/삭제 모두 멱등이라 DB 조회 결과에 이미 들어있어도 결과가 같음).
+ * 읽기 트랜잭션이 RECENT_MILLIS 보다 오래 열려 있지 않다고 가정한다.
+ * 락은 LRU 조각, 유저별 기록, 유저별 id 집합 단위로만 잡는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikedPostsCache {
+
+    private static final int CAPACITY = 10_000;
+    private static final long RECENT_MILLIS = 60_000;
+
+    private record Change(long at, long postId, boolean liked) {}
+
+    // 한 유저의 최근 변경 기록. 자기 자신으로 잠그고, 비어서 맵에서 빠진 기록은 retired 로 표시해 다시 쓰지 않음
+    private static final class RecentChanges {
+        private final ArrayDeque<Change> changes = new ArrayDeque<>();
+        private boolean retired;
+
+        private void prune(long now) {
+            while (!changes.isEmpty() && now - changes.peekFirst().at() > RECENT_MILLIS) {
+                changes.pollFirst();
+            }
+        }
+    }
+
+    private final LikesPostsRepository likesPostsRepository;
+
+    // id 집합은 유저마다 그 집합 자체로 잠그고 읽고 씀
+    private final StripedLruCache<Long, PostIdSet> sets = new StripedLruCache<>(CAPACITY);
+    // 유저 -> 최근 커밋된 변경
+    private final ConcurrentHashMap<Long, RecentChanges> recent = new ConcurrentHashMap<>();
+
+    public boolean isLiked(Long userId, Long postId) {
+        if (userId == null) {return false;}
+        PostIdSet set = likedSet(userId);
+        synchronized (set) {
+            return set.contains(postId);
+        }
+    }
+
+    // postIds 중 userId 가 좋아요 누른 글
+    public Set<Long> likedAmong(Long userId, Collection<Long> postIds) {
+        if (userId == null || postIds.isEmpty()) {return Set.of();}
+        PostIdSet set = likedSet(userId);
+        Set<Long> liked = new HashSet<>();
+        synchronized (set) {
+            for (Long postId : postIds) {
+                if (set.contains(postId)) {liked.add(postId);}
+            }
+        }
+        return liked;
+    }
+
+    public void onLiked(Long userId, Long postId) {
+        apply(userId, postId, true);
+    }
+
+    public void onUnliked(Long userId, Long postId) {
+        apply(userId, postId, false);
+    }
+
+    // 탈퇴한 유저의 id 집합 제거
+    public void evict(Long userId) {
+        sets.remove(userId);
+    }
+
+    // 오래된 기록 정리. 빈 기록은 맵에서 뺌
+    @Scheduled(fixedDelay = RECENT_MILLIS)
+    public void pruneRecent() {
+        long now = System.currentTimeMillis();
+        recent.forEach((userId, log) -> {
+            synchronized (log) {
+                log.prune(now);
+                if (log.changes.isEmpty()) {
+                    log.retired = true;
+                    recent.remove(userId, log);
+                }
+            }
+        });
+    }
+
+    // 기록에 남기고 집합에 반영. 적재 중인 쪽은 같은 기록 락 안에서 집합을 넣으므로 둘 중 한쪽에서 반드시 보임
+    private void apply(Long userId, Long postId, boolean liked) {
+        while (true) {
+            RecentChanges log = recent.computeIfAbsent(userId, id -> new RecentChanges());
+            synchronized (log) {
+                if (log.retired) {continue;}
+                long now = System.currentTimeMillis();
+                log.prune(now);
+                log.changes.addLast(new Change(now, postId, liked));
+
+                PostIdSet set = sets.get(userId);
+                if (set != null) {
+                    synchronized (set) {
+                        if (liked) {set.add(postId);} else {set.remove(postId);}
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    private PostIdSet likedSet(Long userId) {
+        PostIdSet cached = sets.get(userId);
+        if (cached != null) {return cached;}
+
+        // 호출한 쪽 트랜잭션이 있으면 거기에 참여, 없으면 리포지토리 기본 읽기 전용 트랜잭션
+        PostIdSet loaded = new PostIdSet();
+        for (Long postId : likesPostsRepository.findPostIdsByUserId(userId)) {
+            loaded.add(postId);
+        }
+
+        while (true) {
+            RecentChanges log = recent.computeIfAbsent(userId, id -> new RecentChanges());
+            synchronized (log) {
+                if (log.retired) {continue;}
+                cached = sets.get(userId);
+                if (cached != null) {return cached;}
+                log.prune(System.currentTimeMillis());
+                for (Change change : log.changes) {
+                    if (change.liked()) {loaded.add(change.postId());} else {loaded.remove(change.postId());}
+                }
+                sets.put(userId, loaded);
+                return loaded;
+            }
+        }
+    }
+}
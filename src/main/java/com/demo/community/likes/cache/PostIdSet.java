@@ -0,0 +1,57 @@
+package com.demo.community.likes.cache;
+
+import java.util.Arrays;
+
+/**
+ * 정렬된 long 배열로 들고 있는 글 id 집합.
+ * <p>
+ * 글 id 가 Snowflake (하위 12비트가 노드/순번, 그 위가 밀리초) 라서 한 유저가 좋아요한 글 id 는 넓은 범위에 드문드문 흩어진다.
+ * 하위 비트로 묶는 roaring 컨테이너는 거의 원소 하나짜리가 되어 압축이 안 되므로, 원소당 8바이트 정렬 배열로 둔다.
+ * 조회는 이진 탐색, 추가는 마지막 원소보다 크면 뒤에 붙이기만 한다 (id 오름차순으로 적재하면 전체 O(n)).
+ * 배열은 두 배씩 늘리고, 많이 비면 줄인다.
+ * 스레드 안전하지 않음 (LikedPostsCache 가 집합 단위로 잠그고 사용).
+ */
+public final class PostIdSet {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public int cardinality() {
+        return size;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public void add(long id) {
+        if (size == 0 || id > ids[size - 1]) {
+            grow();
+            ids[size++] = id;
+            return;
+        }
+        int i = Arrays.binarySearch(ids, 0, size, id);
+        if (i >= 0) {return;}
+        i = -i - 1;
+        grow();
+        System.arraycopy(ids, i, ids, i + 1, size - i);
+        ids[i] = id;
+        size++;
+    }
+
+    public void remove(long id) {
+        int i = Arrays.binarySearch(ids, 0, size, id);
+        if (i < 0) {return;}
+        System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+        size--;
+        if (ids.length > INITIAL_CAPACITY && size < ids.length / 4) {
+            ids = Arrays.copyOf(ids, Math.max(INITIAL_CAPACITY, ids.length / 2));
+        }
+    }
+
+    private void grow() {
+        if (size == ids.length) {ids = Arrays.copyOf(ids, ids.length * 2);}
+    }
+}
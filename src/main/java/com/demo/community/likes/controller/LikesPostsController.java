@@ -1,6 +1,7 @@
 package com.demo.community.likes.controller;
 
 import com.demo.community.common.dto.ApiResponse;
+import com.demo.community.likes.dto.LikesPostsRequestDTO;
 import com.demo.community.likes.dto.LikesPostsResponseDTO;
 import com.demo.community.likes.service.LikesPostsService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,6 +21,17 @@ public class LikesPostsController {
 
     private final LikesPostsService likesPostsService;
 
+    // 여러 글의 좋아요 여부를 한 번에 (최대 100개)
+    @PostMapping("/status")
+    public ResponseEntity<ApiResponse<LikesPostsResponseDTO.LikeStatusResponse>> likeStatus(
+            @RequestBody @Valid LikesPostsRequestDTO.LikeStatusRequest request,
+            HttpServletRequest req
+    ){
+        LikesPostsResponseDTO.LikeStatusResponse result = likesPostsService.likeStatus(request.getPostIds(), req);
+
+        return ResponseEntity.ok(new ApiResponse<>("like status provided", result));
+    }
+
     @PostMapping("/{postId}")
     public ResponseEntity<ApiResponse<LikesPostsResponseDTO.LikesPostsResultResponse>> createLike(
             @PathVariable("postId") Long postId,
@@ -39,4 +51,16 @@ public class LikesPostsController {
 
         return ResponseEntity.ok(new ApiResponse<>("like deleted", result));
     }
+
+    // 좋아요 상태를 지정 (멱등)
+    @PutMapping("/{postId}")
+    public ResponseEntity<ApiResponse<LikesPostsResponseDTO.LikesPostsResultResponse>> putLike(
+            @PathVariable("postId") Long postId,
+            @RequestBody @Valid LikesPostsRequestDTO.LikeToggleRequest request,
+            HttpServletRequest req
+    ){
+        LikesPostsResponseDTO.LikesPostsResultResponse result = likesPostsService.likeToggle(postId, request.getLiked(), req);
+
+        return ResponseEntity.ok(new ApiResponse<>("like state applied", result));
+    }
 }
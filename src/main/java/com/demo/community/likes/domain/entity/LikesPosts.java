@@ -1,5 +1,6 @@
 package com.demo.community.likes.domain.entity;
 
+import com.demo.community.common.id.SnowflakeId;
 import com.demo.community.posts.domain.entity.Posts;
 import com.demo.community.users.domain.enitty.Users;
 import jakarta.persistence.*;
@@ -11,9 +12,12 @@ import lombok.*;
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_likes_posts_user_post", columnNames = {"user_id", "post_id"}),
+        indexes = @Index(name = "idx_likes_posts_user_cursor", columnList = "user_id, id"))
 public class LikesPosts {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @SnowflakeId
     private long id;
 
     @ManyToOne (fetch = FetchType.LAZY)
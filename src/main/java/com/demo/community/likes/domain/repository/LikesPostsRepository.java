@@ -1,14 +1,49 @@
 package com.demo.community.likes.domain.repository;
 
 import com.demo.community.likes.domain.entity.LikesPosts;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LikesPostsRepository extends JpaRepository<LikesPosts, Long> {
     void deleteByUsersIdAndPostsId(Long userId, Long postId);
-    void deleteByUsersId(Long userId);
     boolean existsByUsersIdAndPostsId(Long userId, Long postId);
+
+    // 좋아요 id 집합 적재용. post_id 오름차순이라 PostIdSet 에 뒤에 붙이기만 함 ((user_id, post_id) 유니크 인덱스 순서)
+    @Query("select l.posts.id from LikesPosts l where l.users.id = :userId order by l.posts.id asc")
+    List<Long> findPostIdsByUserId(@Param("userId") Long userId);
+
+    // 탈퇴 처리용: 유저가 좋아요한 글 id 를 limit 개씩 ((user_id, id) 인덱스 범위)
+    @Query("select l.posts.id from LikesPosts l where l.users.id = :userId order by l.id asc")
+    List<Long> findPostIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // (user_id, post_id) 유니크 인덱스 범위에서 바로 찾음
+    @Query("select l.posts.id from LikesPosts l where l.users.id = :userId and l.posts.id in :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    // 글과 (탈퇴 중이 아닌) 회원이 있고 아직 좋아요가 없을 때만 추가. 동시에 눌러도 (user_id, post_id) 유니크 키에 걸려 한 행만 남음
+    // IGNORE 는 중복 키만 삼키도록, FK 로 실패할 수 있는 경우(없는 글/회원)는 SELECT 의 조인으로 먼저 걸러냄.
+    // (ON DUPLICATE KEY UPDATE 는 Connector/J 기본 설정(found rows)에서 추가/중복 모두 1 을 돌려줘서 영향 행 수로 구분할 수 없음)
+    // id 는 호출하는 쪽에서 IdGenerators 로 발급해서 넘김
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO likes_posts (id, user_id, post_id)
+        SELECT :id, u.id, p.id
+        FROM posts p
+        JOIN users u ON u.id = :userId AND u.deleted_at IS NULL
+        WHERE p.id = :postId
+        """, nativeQuery = true)
+    int insertIfAbsent(@Param("id") Long id, @Param("userId") Long userId, @Param("postId") Long postId);
+
+    @Modifying
+    @Query(value = "DELETE FROM likes_posts WHERE user_id = :userId AND post_id = :postId", nativeQuery = true)
+    int deleteIfPresent(@Param("userId") Long userId, @Param("postId") Long postId);
 }
@@ -0,0 +1,32 @@
+package com.demo.community.likes.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+public class LikesPostsRequestDTO {
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter @Setter
+    public static class LikeToggleRequest {
+        // true: 좋아요 상태로, false: 좋아요 취소 상태로
+        @NotNull
+        private Boolean liked;
+    }
+
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter @Setter
+    public static class LikeStatusRequest {
+        @NotEmpty
+        @Size(max = 100, message = "you can check up to 100 posts at once.")
+        private List<@NotNull Long> postIds;
+    }
+
+}
@@ -2,6 +2,8 @@ package com.demo.community.likes.dto;
 
 import lombok.*;
 
+import java.util.Map;
+
 public class LikesPostsResponseDTO {
 
     @Builder
@@ -14,4 +16,14 @@ public class LikesPostsResponseDTO {
         private Integer likeCount;
     }
 
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    public static class LikeStatusResponse {
+        // 요청한 글 id -> 좋아요 여부
+        private Map<Long, Boolean> liked;
+    }
+
 }
@@ -1,13 +1,23 @@
 package com.demo.community.likes.service;
 
+import com.demo.community.common.id.IdGenerators;
+import com.demo.community.common.paging.KeysetCursor;
+import com.demo.community.common.transaction.AfterCommit;
+import com.demo.community.likes.cache.LikedPostsCache;
 import com.demo.community.likes.domain.entity.LikesPosts;
 import com.demo.community.likes.domain.repository.LikesPostsRepository;
 import com.demo.community.likes.dto.LikesPostsResponseDTO;
+import com.demo.community.posts.cache.LikeCountAggregator;
 import com.demo.community.posts.domain.entity.Posts;
+import com.demo.community.posts.domain.repository.PostQueryRepository;
 import com.demo.community.posts.domain.repository.PostRepository;
 import com.demo.community.posts.domain.repository.PostsCountsRepository;
+import com.demo.community.posts.events.PostEventHub;
+import com.demo.community.posts.dto.PostResponseDTO;
+import com.demo.community.users.cache.AuthorCache;
 import com.demo.community.users.domain.enitty.Users;
 import com.demo.community.users.domain.repository.UserRepository;
+import com.demo.community.users.dto.AuthorSummary;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -16,7 +26,13 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional(readOnly = true)
@@ -27,6 +43,11 @@ public class LikesPostsService {
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final PostsCountsRepository postsCountsRepository;
+    private final LikeCountAggregator likeCountAggregator;
+    private final PostQueryRepository postQueryRepository;
+    private final LikedPostsCache likedPostsCache;
+    private final PostEventHub postEventHub;
+    private final AuthorCache authorCache;
 
     @Transactional
     public LikesPostsResponseDTO.LikesPostsResultResponse likeCreate(Long postId, HttpServletRequest req){
@@ -49,10 +70,14 @@ public class LikesPostsService {
         LikesPosts likesPosts = LikesPosts.builder().posts(post.get()).users(user.get()).build();
         likesPostsRepository.save(likesPosts);
 
-        // 원자적으로 post의 likeCount를 +1 하는 SQL
-        postsCountsRepository.incrementLikeCount(postId);
+        // likeCount 는 커밋 후 집계기에 +1 (주기적으로 posts_counts 에 합쳐서 반영)
+        AfterCommit.run(() -> {
+            likeCountAggregator.add(postId, 1);
+            postEventHub.likeChanged(postId);
+            likedPostsCache.onLiked(userId, postId);
+        });
 
-        int likeCount = postsCountsRepository.getLikeCount(postId);
+        int likeCount = currentLikeCount(postId, 1);
 
         return LikesPostsResponseDTO.LikesPostsResultResponse.builder()
                 .likeCount(likeCount).userPressed(true).build();
@@ -78,13 +103,120 @@ public class LikesPostsService {
 
         likesPostsRepository.deleteByUsersIdAndPostsId(userId, postId);
 
-        // 원자적으로 post의 likeCount를 -1 하는 SQL
-        postsCountsRepository.decrementLikeCount(postId);
+        // likeCount 는 커밋 후 집계기에 -1
+        AfterCommit.run(() -> {
+            likeCountAggregator.add(postId, -1);
+            postEventHub.likeChanged(postId);
+            likedPostsCache.onUnliked(userId, postId);
+        });
 
-        int likeCount = postsCountsRepository.getLikeCount(postId);
+        int likeCount = currentLikeCount(postId, -1);
 
         return LikesPostsResponseDTO.LikesPostsResultResponse.builder()
                 .likeCount(likeCount).userPressed(false).build();
     }
 
+    // 원하는 상태(liked)로 맞춤. 이미 그 상태면 아무것도 바꾸지 않으므로 여러 번 보내도 결과가 같음
+    // 조건부 insert/delete 의 영향 행 수로 실제로 바뀌었는지 판단하고, 바뀐 경우에만 카운터를 움직임
+    // 문장은 insert/delete 하나와 카운트 조회 하나뿐. 카운트가 없으면 글이 없는 것이고, 회원은 인증 필터가 탈퇴 여부까지 이미 확인했으므로
+    // 영향 행 수 0 은 이미 그 상태라는 뜻 (좋아요 행을 다시 확인하지 않음)
+    @Transactional
+    public LikesPostsResponseDTO.LikesPostsResultResponse likeToggle(Long postId, boolean liked, HttpServletRequest req){
+
+        Long userId = (Long) req.getAttribute("userId");
+
+        boolean changed = (liked
+                ? likesPostsRepository.insertIfAbsent(IdGenerators.nextId(), userId, postId)
+                : likesPostsRepository.deleteIfPresent(userId, postId)) > 0;
+
+        int delta = changed ? (liked ? 1 : -1) : 0;
+        if (changed) {
+            AfterCommit.run(() -> {
+                likeCountAggregator.add(postId, delta);
+                postEventHub.likeChanged(postId);
+                if (liked) {likedPostsCache.onLiked(userId, postId);} else {likedPostsCache.onUnliked(userId, postId);}
+            });
+        }
+
+        return LikesPostsResponseDTO.LikesPostsResultResponse.builder()
+                .likeCount(currentLikeCount(postId, delta)).userPressed(liked).build();
+    }
+
+    // DB 값 + 집계기에 남은 증분 + 이번 요청의 증분 (아직 커밋 전이라 집계기에 없음)
+    private int currentLikeCount(Long postId, int delta) {
+        Long persisted = postsCountsRepository.findLikeCount(postId);
+        if (persisted == null) {throw new EntityNotFoundException("post not found");}
+        return (int) (persisted + likeCountAggregator.pending(postId) + delta);
+    }
+
+    // 글 목록 한 페이지의 좋아요 여부를 IN 쿼리 한 번으로 조회
+    public LikesPostsResponseDTO.LikeStatusResponse likeStatus(List<Long> postIds, HttpServletRequest req){
+
+        Long userId = (Long) req.getAttribute("userId");
+
+        Set<Long> requested = new LinkedHashSet<>(postIds);
+        Set<Long> liked = new HashSet<>(likesPostsRepository.findLikedPostIds(userId, requested));
+
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        requested.forEach(postId -> result.put(postId, liked.contains(postId)));
+
+        return LikesPostsResponseDTO.LikeStatusResponse.builder().liked(result).build();
+    }
+
+    // 유저가 좋아요한 글 목록 (좋아요 누른 순서). 커서 키는 좋아요 행 id, 좋아요 여부는 보는 사람(viewerId) 기준
+    public PostResponseDTO.PostListSliceResponse getLikedPostList(Long userId, Long lastSeenId, String cursor, int size, Long viewerId){
+
+        int limit = KeysetCursor.clampSize(size);
+        KeysetCursor c = cursor != null ? KeysetCursor.decode(cursor)
+                : lastSeenId != null ? KeysetCursor.older(lastSeenId) : null;
+
+        if (c != null && c.isNewer()) {
+            long from = c.longKey();
+            List<PostQueryRepository.LikedPost> rows = postQueryRepository.findNewerLikedPostList(userId, from, limit + 1);
+            if (rows.size() > limit) {rows = rows.subList(1, rows.size());}
+
+            // 커서 좋아요가 취소됐거나 가장 먼저 누른 것이었을 수 있으므로 더 먼저 누른 좋아요가 있는지 직접 확인
+            Long last = rows.isEmpty() ? from : rows.getLast().likeId();
+            boolean hasNext = postQueryRepository.existsLikeBefore(userId, last);
+            return PostResponseDTO.PostListSliceResponse.builder()
+                    .items(decorate(rows, viewerId))
+                    .hasNext(hasNext)
+                    .nextCursorId(last)
+                    .nextCursor(hasNext ? KeysetCursor.older(last).encode() : null)
+                    .prevCursor(KeysetCursor.newer(rows.isEmpty() ? from : rows.getFirst().likeId()).encode())
+                    .build();
+        }
+
+        Long cursorId = c == null ? null : c.longKey();
+        List<PostQueryRepository.LikedPost> rows = postQueryRepository.findLikedPostList(userId, cursorId, limit + 1);
+
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {rows = rows.subList(0, limit);}
+
+        Long nextCursor = rows.isEmpty() ? null : rows.getLast().likeId();
+        return PostResponseDTO.PostListSliceResponse.builder()
+                .items(decorate(rows, viewerId))
+                .hasNext(hasNext)
+                .nextCursorId(nextCursor)
+                .nextCursor(hasNext ? KeysetCursor.older(nextCursor).encode() : null)
+                .prevCursor(rows.isEmpty() ? null : KeysetCursor.newer(rows.getFirst().likeId()).encode())
+                .build();
+    }
+
+    // 작성자 닉네임/이미지는 AuthorCache 로 페이지 단위로 한 번에 채우고, 좋아요 여부는 보는 사람의 id 집합으로
+    private List<PostResponseDTO.PostListResponse> decorate(List<PostQueryRepository.LikedPost> rows, Long viewerId) {
+        if (rows.isEmpty()) {return List.of();}
+
+        Map<Long, AuthorSummary> authors = authorCache.getAll(rows.stream().map(row -> row.post().getUserId()).toList());
+        Set<Long> liked = viewerId == null ? Set.of() : likedPostsCache.likedAmong(viewerId,
+                rows.stream().map(row -> row.post().getPostId()).toList());
+        return rows.stream()
+                .map(row -> {
+                    PostResponseDTO.PostListResponse post = row.post().withAuthor(authors.get(row.post().getUserId()));
+                    post.setLikePressed(liked.contains(post.getPostId()));
+                    return post;
+                })
+                .toList();
+    }
+
 }
@@ -0,0 +1,199 @@
+package com.demo.community.posts.cache;
+
+import com.demo.community.posts.domain.repository.PostQueryRepository;
+import com.demo.community.posts.dto.PostResponseDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
+
+/**
+ * 최신 글 CAPACITY 개를 메모리에 들고 있는 핫 피드 링.
+ * <p>
+ * 읽기는 volatile 스냅샷 하나만 보고 락 없이 동작하고, 쓰기(글 작성/수정/삭제)는 스냅샷을 복사해서 교체한다.
+ * 스냅샷이 TTL 을 넘기면 일단 기존 값을 그대로 내려주고 백그라운드에서 다시 적재한다 (stale-while-revalidate).
+ * 적재 도중 들어온 쓰기는 기록해 두었다가 적재 결과에 다시 적용하므로, 쓰기가 계속 몰려도 적재 결과를 버리지 않는다.
+ * 아직 적재되지 않았거나 요청 범위가 링 밖이면 empty 를 돌려주고, 호출하는 쪽이 DB 로 조회한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotFeedCache {
+
+    private static final int CAPACITY = 200;
+    private static final long TTL_MILLIS = 5_000;
+
+    private final PostQueryRepository postQueryRepository;
+
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "hot-feed-refresher");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final Object writeLock = new Object();
+
+    // rows: id 내림차순, complete: 테이블 전체가 링 안에 들어있는지 (마지막 페이지 판단용)
+    private record Snapshot(List<PostResponseDTO.PostListResponse> rows, boolean complete, long loadedAt) {}
+
+    private volatile Snapshot snapshot;
+    // 적재 중에 들어온 변경 (적재 중이 아니면 null). writeLock 안에서만 접근
+    private List<UnaryOperator<Snapshot>> duringRefresh;
+
+    // cursorId 보다 오래된 글 limit 개 (id 내림차순). 링이 그 범위를 다 갖고 있지 않으면 empty
+    public Optional<List<PostResponseDTO.PostListResponse>> older(Long cursorId, int limit) {
+        Snapshot s = current();
+        if (s == null) {return Optional.empty();}
+
+        List<PostResponseDTO.PostListResponse> rows = s.rows();
+        int from = cursorId == null ? 0 : firstIndexBelow(rows, cursorId);
+        if (from + limit > rows.size() && !s.complete()) {
+            return Optional.empty();
+        }
+        return Optional.of(rows.subList(from, Math.min(from + limit, rows.size())));
+    }
+
+    // cursorId 보다 새로운 글 중 cursorId 에 가장 가까운 limit 개 (id 내림차순)
+    public Optional<List<PostResponseDTO.PostListResponse>> newer(long cursorId, int limit) {
+        Snapshot s = current();
+        if (s == null) {return Optional.empty();}
+
+        List<PostResponseDTO.PostListResponse> rows = s.rows();
+        int to = firstIndexBelow(rows, cursorId + 1);
+        // 커서가 링보다 오래됐으면 링과 커서 사이가 비어있을 수 있음
+        if (to == rows.size() && !s.complete()) {
+            return Optional.empty();
+        }
+        return Optional.of(rows.subList(Math.max(0, to - limit), to));
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null || System.currentTimeMillis() - s.loadedAt() > TTL_MILLIS) {
+            refreshAsync();
+        }
+        return s;
+    }
+
+    public void onCreated(PostResponseDTO.PostListResponse row) {
+        mutate(s -> inserted(s, row));
+    }
+
+    public void onUpdated(Long postId, String title) {
+        mutate(s -> retitled(s, postId, title));
+    }
+
+    public void onDeleted(Long postId) {
+        mutate(s -> removed(s, postId));
+    }
+
+    // 현재 스냅샷에 바로 반영하고, 적재 중이면 적재 결과에도 다시 적용하도록 기록
+    private void mutate(UnaryOperator<Snapshot> change) {
+        synchronized (writeLock) {
+            if (duringRefresh != null) {duringRefresh.add(change);}
+            Snapshot s = snapshot;
+            if (s != null) {snapshot = change.apply(s);}
+        }
+    }
+
+    private void refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) {return;}
+        refresher.execute(() -> {
+            try {
+                synchronized (writeLock) {duringRefresh = new ArrayList<>();}
+
+                List<PostResponseDTO.PostListResponse> rows = postQueryRepository.findPostList(null, CAPACITY + 1);
+                boolean complete = rows.size() <= CAPACITY;
+                if (!complete) {rows = rows.subList(0, CAPACITY);}
+
+                synchronized (writeLock) {
+                    // 적재 중에 커밋된 작성/수정/삭제를 순서대로 다시 적용 (이미 반영된 변경은 그대로 둠)
+                    Snapshot loaded = new Snapshot(List.copyOf(rows), complete, System.currentTimeMillis());
+                    for (UnaryOperator<Snapshot> change : duringRefresh) {
+                        loaded = change.apply(loaded);
+                    }
+                    snapshot = loaded;
+                }
+            } catch (RuntimeException ex) {
+                log.warn("hot feed refresh failed, serving the previous ring", ex);
+            } finally {
+                synchronized (writeLock) {duringRefresh = null;}
+                refreshing.set(false);
+            }
+        });
+    }
+
+    private static Snapshot inserted(Snapshot s, PostResponseDTO.PostListResponse row) {
+        // id 는 커밋 순서와 다를 수 있으므로 (먼저 발급받은 글이 늦게 커밋) 맨 앞이 아니라 id 순서 자리에 넣음
+        int idx = firstIndexBelow(s.rows(), row.getPostId());
+        if (idx > 0 && s.rows().get(idx - 1).getPostId().equals(row.getPostId())) {return s;}
+        // 링보다 오래된 글이고 링 뒤에 글이 더 있으면 자리를 알 수 없음
+        if (idx == s.rows().size() && !s.complete()) {return s;}
+
+        List<PostResponseDTO.PostListResponse> rows = new ArrayList<>(s.rows().size() + 1);
+        rows.addAll(s.rows());
+        rows.add(idx, row);
+        boolean complete = s.complete();
+        if (rows.size() > CAPACITY) {
+            rows.removeLast();
+            complete = false;
+        }
+        return new Snapshot(List.copyOf(rows), complete, s.loadedAt());
+    }
+
+    private static Snapshot retitled(Snapshot s, Long postId, String title) {
+        int idx = indexOf(s.rows(), postId);
+        if (idx < 0) {return s;}
+
+        PostResponseDTO.PostListResponse old = s.rows().get(idx);
+        PostResponseDTO.PostListResponse updated = PostResponseDTO.PostListResponse.builder()
+                .postId(old.getPostId())
+                .title(title)
+                .userId(old.getUserId())
+                .likeCount(old.getLikeCount())
+                .replyCount(old.getReplyCount())
+                .viewCount(old.getViewCount())
+                .createdAt(old.getCreatedAt()).build();
+
+        List<PostResponseDTO.PostListResponse> rows = new ArrayList<>(s.rows());
+        rows.set(idx, updated);
+        return new Snapshot(List.copyOf(rows), s.complete(), s.loadedAt());
+    }
+
+    private static Snapshot removed(Snapshot s, Long postId) {
+        int idx = indexOf(s.rows(), postId);
+        if (idx < 0) {return s;}
+
+        List<PostResponseDTO.PostListResponse> rows = new ArrayList<>(s.rows());
+        rows.remove(idx);
+        return new Snapshot(List.copyOf(rows), s.complete(), s.loadedAt());
+    }
+
+    // id 내림차순 리스트에서 id < cursorId 인 첫 위치
+    private static int firstIndexBelow(List<PostResponseDTO.PostListResponse> rows, long cursorId) {
+        int lo = 0, hi = rows.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (rows.get(mid).getPostId() < cursorId) {hi = mid;} else {lo = mid + 1;}
+        }
+        return lo;
+    }
+
+    private static int indexOf(List<PostResponseDTO.PostListResponse> rows, long postId) {
+        int idx = firstIndexBelow(rows, postId + 1);
+        return idx < rows.size() && rows.get(idx).getPostId() == postId ? idx : -1;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,138 @@
+package com.demo.community.posts.cache;
+
+import com.demo.community.posts.domain.repository.PostQueryRepository;
+import com.demo.community.posts.dto.PostResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * sort=hot 정렬용 인기글 랭킹.
+ * <p>
+ * 인기 점수는 weight * e^(-(now - createdAt) / TAU) 로 시간이 지날수록 감소하는데,
+ * 모든 글에 같은 e^(-now / TAU) 가 곱해지므로 순위만 보면 ln(weight) + createdAt / TAU 로 비교해도 같다.
+ * 이 값은 시간이 흘러도 변하지 않기 때문에 카운터가 바뀐 글만 다시 계산해서 정렬 구조에 넣으면 되고,
+ * 주기적으로 전체를 다시 계산할 필요가 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotRankingIndex {
+
+    // 점수가 1/e 로 줄어드는 시간 (12.5 시간)
+    private static final double TAU_SECONDS = 45_000;
+    private static final double LIKE_WEIGHT = 2.0;
+    private static final double REPLY_WEIGHT = 3.0;
+    private static final double VIEW_WEIGHT = 0.1;
+    private static final int LOAD_CHUNK = 1_000;
+
+    private final PostQueryRepository postQueryRepository;
+
+    public record Entry(double score, long postId) {}
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble(Entry::score).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::postId).reversed());
+
+    private static final class State {
+        final long createdAtSeconds;
+        int likes;
+        int replies;
+        int views;
+        Entry entry;
+
+        State(long createdAtSeconds) {this.createdAtSeconds = createdAtSeconds;}
+
+        double score() {
+            double weight = 1 + likes * LIKE_WEIGHT + replies * REPLY_WEIGHT + views * VIEW_WEIGHT;
+            return Math.log(Math.max(weight, 1)) + createdAtSeconds / TAU_SECONDS;
+        }
+    }
+
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentHashMap<Long, State> states = new ConcurrentHashMap<>();
+
+    // 기동 시 한 번만 post_feed 를 id 순으로 훑어서 채움
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Long cursor = null;
+        while (true) {
+            List<PostResponseDTO.PostListResponse> chunk = postQueryRepository.findPostList(cursor, LOAD_CHUNK);
+            for (PostResponseDTO.PostListResponse row : chunk) {
+                put(row.getPostId(), row.getCreatedAt(), row.getLikeCount(), row.getReplyCount(), row.getViewCount());
+            }
+            if (chunk.size() < LOAD_CHUNK) {break;}
+            cursor = chunk.getLast().getPostId();
+        }
+    }
+
+    public void put(Long postId, LocalDateTime createdAt, int likes, int replies, int views) {
+        State state = new State(createdAt.toEpochSecond(ZoneOffset.UTC));
+        State prev = states.putIfAbsent(postId, state);
+        if (prev != null) {return;}
+        synchronized (state) {
+            state.likes = likes;
+            state.replies = replies;
+            state.views = views;
+            reindex(postId, state);
+        }
+    }
+
+    public void remove(Long postId) {
+        State state = states.remove(postId);
+        if (state == null) {return;}
+        synchronized (state) {
+            if (state.entry != null) {ranking.remove(state.entry);}
+        }
+    }
+
+    public void addLikes(Long postId, int delta) {
+        apply(postId, delta, 0, 0);
+    }
+
+    public void addReplies(Long postId, int delta) {
+        apply(postId, 0, delta, 0);
+    }
+
+    public void addViews(Long postId, int delta) {
+        apply(postId, 0, 0, delta);
+    }
+
+    private void apply(Long postId, int likes, int replies, int views) {
+        State state = states.get(postId);
+        if (state == null) {return;}
+        synchronized (state) {
+            state.likes += likes;
+            state.replies += replies;
+            state.views += views;
+            reindex(postId, state);
+        }
+    }
+
+    private void reindex(Long postId, State state) {
+        Entry next = new Entry(state.score(), postId);
+        if (state.entry != null) {ranking.remove(state.entry);}
+        state.entry = next;
+        // remove() 와 경합했으면 다시 넣지 않음
+        if (states.get(postId) == state) {ranking.add(next);}
+    }
+
+    // after 다음 순위부터 size 개 (after 가 null 이면 1위부터)
+    public List<Entry> page(Entry after, int size) {
+        var view = after == null ? ranking : ranking.tailSet(after, false);
+        List<Entry> result = new ArrayList<>(size);
+        for (Entry e : view) {
+            if (result.size() == size) {break;}
+            result.add(e);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package com.demo.community.posts.cache;
+
+import com.demo.community.common.counter.DeltaAccumulator;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 좋아요 수 증감을 글별로 합쳐서 주기적으로 반영하는 집계기.
+ * <p>
+ * 클릭마다 posts_counts 한 행을 잠그고 UPDATE 하면 인기 글에서 요청이 그 행 락에 줄을 서게 된다.
+ * 좋아요 행의 추가/삭제가 커밋된 뒤 증감만 여기에 더하고, 주기마다 글당 UPDATE 한 번
+ * (likeCounts = likeCounts + delta, LikeCounterShards 가 고른 슬롯) 으로 반영한 뒤 post_feed 를 합계로 맞춘다.
+ * 응답에는 DB 값 + pending() 을 내려준다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikeCountAggregator {
+
+    private final LikeCounterShards likeCounterShards;
+    private final HotRankingIndex hotRankingIndex;
+
+    private final DeltaAccumulator likes = new DeltaAccumulator();
+
+    public void add(Long postId, int delta) {
+        likes.add(postId, delta);
+    }
+
+    public long pending(Long postId) {
+        return likes.pending(postId);
+    }
+
+    @Scheduled(fixedDelayString = "${likes.flush-interval-ms:200}")
+    public synchronized void flush() {
+        Map<Long, Long> drained = likes.drain();
+        if (drained.isEmpty()) {return;}
+
+        // 글마다 따로 반영해서 한 글의 락 대기/실패가 다른 글에 번지지 않게 함
+        Map<Long, Long> applied = new HashMap<>();
+        Map<Long, Long> failed = new HashMap<>();
+        drained.forEach((postId, delta) -> {
+            try {
+                likeCounterShards.add(postId, delta);
+                applied.put(postId, delta);
+            } catch (RuntimeException ex) {
+                log.warn("like count flush failed for post {}, will be retried", postId, ex);
+                failed.put(postId, delta);
+            }
+        });
+        likes.restore(failed);
+
+        try {
+            likeCounterShards.refreshFeed(List.copyOf(applied.keySet()));
+        } catch (RuntimeException ex) {
+            // 카운터는 이미 반영됨. post_feed 는 다음 반영 또는 재구축 때 맞춰짐
+            log.warn("post_feed like count refresh failed for {} posts", applied.size(), ex);
+        }
+        likes.complete(applied);
+        applied.forEach((postId, delta) -> hotRankingIndex.addLikes(postId, (int) (long) delta));
+    }
+
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+}
@@ -0,0 +1,127 @@
+package com.demo.community.posts.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 좋아요 카운터를 글당 여러 슬롯 행에 나눠 쓰는 쓰기 경로.
+ * <p>
+ * 슬롯 0 은 posts_counts 행, 나머지는 post_count_slots 행이고 쓰기마다 슬롯 하나를 무작위로 고른다.
+ * 인스턴스가 여러 대여도 같은 글의 쓰기가 한 행 락에 몰리지 않게 하기 위함.
+ * UPDATE 가 widenThresholdMillis 이상 걸리는 일이 (대부분 행 락 대기) WIDEN_WINDOW 안에 WIDEN_SAMPLES 번 쌓이면
+ * 그 글의 슬롯 수를 두 배로 늘린다 (한 번 튄 느린 문장으로 슬롯이 영구히 늘지 않도록).
+ * 슬롯 수는 posts_counts.slot_count 에 저장되고, 다른 인스턴스가 늘린 값은 SLOT_COUNT_TTL 안에 반영된다.
+ * 슬롯 수는 늘기만 하고 줄지 않으므로 읽는 쪽은 항상 모든 슬롯을 합치면 된다.
+ */
+@Component
+public class LikeCounterShards {
+
+    private static final int MAX_SLOTS = 16;
+    private static final long SLOT_COUNT_TTL_MILLIS = 60_000;
+    private static final int WIDEN_SAMPLES = 3;
+    private static final long WIDEN_WINDOW_MILLIS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long widenThresholdMillis;
+
+    private record SlotCount(int slots, long loadedAt) {}
+
+    // 글별 느린 쓰기 기록: 창 시작 시각, 창 안에서 느렸던 횟수
+    private record SlowWrites(long windowStart, int count) {}
+
+    private final ConcurrentHashMap<Long, SlotCount> slotCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, SlowWrites> slowWrites = new ConcurrentHashMap<>();
+
+    public LikeCounterShards(JdbcTemplate jdbcTemplate,
+                             @Value("${likes.slot-widen-threshold-ms:20}") long widenThresholdMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.widenThresholdMillis = widenThresholdMillis;
+    }
+
+    // delta 를 무작위 슬롯 하나에 더함 (autocommit 한 문장이라 락은 그 문장 동안만 잡힘)
+    public void add(Long postId, long delta) {
+        int slots = slots(postId);
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+
+        long started = System.nanoTime();
+        if (slot == 0) {
+            jdbcTemplate.update("UPDATE posts_counts SET like_counts = like_counts + ? WHERE id = ?", delta, postId);
+        } else {
+            jdbcTemplate.update("""
+                    INSERT INTO post_count_slots (post_id, slot, like_counts) VALUES (?, ?, ?)
+                    ON DUPLICATE KEY UPDATE like_counts = like_counts + VALUES(like_counts)
+                    """, postId, slot, delta);
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        if (elapsedMillis >= widenThresholdMillis && slots < MAX_SLOTS && sustainedSlow(postId)) {
+            try {
+                widen(postId, Math.min(MAX_SLOTS, slots * 2));
+            } catch (RuntimeException ignored) {
+                // 증분은 이미 반영됨. 슬롯 확장은 다음에 다시 느려졌을 때 시도
+            }
+        } else {
+            // 창이 지난 기록은 치움
+            SlowWrites slow = slowWrites.get(postId);
+            if (slow != null && System.currentTimeMillis() - slow.windowStart() > WIDEN_WINDOW_MILLIS) {
+                slowWrites.remove(postId, slow);
+            }
+        }
+    }
+
+    // 여러 글의 좋아요 수를 하나씩 뺌 (슬롯 0 에 문장 하나). 호출하는 쪽 트랜잭션 끝에 불러서 카운터 행 락을 커밋 직전에만 잡게 함
+    public void decrementAll(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {return;}
+        List<Long> sorted = postIds.stream().sorted().toList();
+        String placeholders = String.join(", ", Collections.nCopies(sorted.size(), "?"));
+        jdbcTemplate.update("UPDATE posts_counts SET like_counts = like_counts - 1 WHERE id IN (" + placeholders + ")",
+                sorted.toArray());
+    }
+
+    // post_feed 의 좋아요 수를 슬롯 합계로 다시 맞춤 (증분이 아니라 값을 덮어쓰므로 인스턴스끼리 겹쳐도 안전)
+    public void refreshFeed(List<Long> postIds) {
+        if (postIds.isEmpty()) {return;}
+        jdbcTemplate.batchUpdate("""
+                UPDATE post_feed SET like_counts = (
+                    SELECT c.like_counts + COALESCE((SELECT SUM(s.like_counts) FROM post_count_slots s WHERE s.post_id = c.id), 0)
+                    FROM posts_counts c WHERE c.id = post_feed.id)
+                WHERE id = ?
+                """, postIds.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    private int slots(Long postId) {
+        SlotCount cached = slotCounts.get(postId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < SLOT_COUNT_TTL_MILLIS) {
+            return cached.slots();
+        }
+        List<Integer> found = jdbcTemplate.queryForList(
+                "SELECT slot_count FROM posts_counts WHERE id = ?", Integer.class, postId);
+        int slots = found.isEmpty() ? 1 : Math.max(1, found.getFirst());
+        slotCounts.put(postId, new SlotCount(slots, System.currentTimeMillis()));
+        return slots;
+    }
+
+    // 느린 쓰기를 하나 기록하고, 창 안에 WIDEN_SAMPLES 번 쌓였으면 기록을 비우고 true
+    private boolean sustainedSlow(Long postId) {
+        long now = System.currentTimeMillis();
+        SlowWrites updated = slowWrites.compute(postId, (id, prev) ->
+                prev == null || now - prev.windowStart() > WIDEN_WINDOW_MILLIS
+                        ? new SlowWrites(now, 1)
+                        : new SlowWrites(prev.windowStart(), prev.count() + 1));
+        if (updated.count() < WIDEN_SAMPLES) {return false;}
+        slowWrites.remove(postId, updated);
+        return true;
+    }
+
+    private void widen(Long postId, int slots) {
+        jdbcTemplate.update("UPDATE posts_counts SET slot_count = GREATEST(slot_count, ?) WHERE id = ?", slots, postId);
+        slotCounts.put(postId, new SlotCount(slots, System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,77 @@
+package com.demo.community.posts.cache;
+
+import com.demo.community.common.cache.StripedLruCache;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 글 상세의 잘 바뀌지 않는 부분(제목/본문/이미지/작성자 id)만 글 단위로 들고 있는 LRU 캐시.
+ * <p>
+ * 좋아요/댓글/조회수처럼 계속 바뀌는 값은 담지 않고 매번 따로 읽는다. 작성자 닉네임/이미지는 AuthorCache 에서 채운다.
+ * 글 수정/삭제 시에는 그 글만, 탈퇴 시에는 그 작성자의 글만 지운다 (작성자 -> 캐시된 글 id 색인으로 찾음).
+ * 적재 도중 무효화가 끼어들면 읽어온 값은 캐시에서 다시 뺀다 (지운 값을 다시 살리지 않도록).
+ * LRU 는 조각별로만 잠근다 (StripedLruCache).
+ */
+@Component
+public class PostDetailCache {
+
+    private static final int CAPACITY = 1_000;
+
+    public record Entry(Long postId, String title, String content, List<String> images, Long userId) {}
+
+    private final StripedLruCache<Long, Entry> entries = new StripedLruCache<>(CAPACITY, (postId, entry) -> unindex(entry));
+    // 작성자 id -> 캐시에 있는 그 작성자의 글 id
+    private final ConcurrentHashMap<Long, Set<Long>> byAuthor = new ConcurrentHashMap<>();
+    // 무효화마다 증가 (지우기 전에 올림)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // 캐시에 없으면 loader 로 읽어서 넣음. loader 가 empty 면 (없는 글) 캐시하지 않음
+    public Optional<Entry> get(Long postId, Supplier<Optional<Entry>> loader) {
+        Entry cached = entries.get(postId);
+        if (cached != null) {return Optional.of(cached);}
+
+        long before = invalidations.get();
+        Optional<Entry> loaded = loader.get();
+        loaded.ifPresent(entry -> {
+            index(entry);
+            entries.put(postId, entry);
+            // 읽는 사이 무효화가 있었으면 방금 넣은 값이 지워진 값일 수 있으므로 다시 뺌
+            if (invalidations.get() != before) {evict(postId);}
+        });
+        return loaded;
+    }
+
+    public void evict(Long postId) {
+        invalidations.incrementAndGet();
+        Entry removed = entries.remove(postId);
+        if (removed != null) {unindex(removed);}
+    }
+
+    public void evictByAuthor(Long userId) {
+        invalidations.incrementAndGet();
+        Set<Long> postIds = byAuthor.remove(userId);
+        if (postIds == null) {return;}
+        for (Long postId : postIds) {
+            entries.remove(postId);
+        }
+    }
+
+    private void index(Entry entry) {
+        if (entry.userId() == null) {return;}
+        byAuthor.computeIfAbsent(entry.userId(), id -> ConcurrentHashMap.newKeySet()).add(entry.postId());
+    }
+
+    private void unindex(Entry entry) {
+        if (entry.userId() == null) {return;}
+        byAuthor.computeIfPresent(entry.userId(), (id, postIds) -> {
+            postIds.remove(entry.postId());
+            return postIds.isEmpty() ? null : postIds;
+        });
+    }
+}
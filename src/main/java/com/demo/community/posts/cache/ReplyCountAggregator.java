@@ -0,0 +1,73 @@
+package com.demo.community.posts.cache;
+
+import com.demo.community.common.counter.DeltaAccumulator;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 댓글 수 증감을 글별로 합쳐서 주기적으로 반영하는 집계기.
+ * <p>
+ * 댓글 행의 추가/삭제가 커밋된 뒤 증감만 여기에 더하고, 주기마다 글마다 짧은 트랜잭션 하나로 posts_counts / post_feed 에
+ * reply_counts = reply_counts + delta 를 반영한다.
+ * 한 글에 댓글이 몰려도 댓글 트랜잭션이 카운터 행 락에 줄을 서지 않고, 카운터 행은 주기당 한 번만 잠긴다.
+ * 응답에는 DB 값 + pending() 을 내려준다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReplyCountAggregator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final HotRankingIndex hotRankingIndex;
+
+    private final DeltaAccumulator replies = new DeltaAccumulator();
+
+    public void add(Long postId, int delta) {
+        replies.add(postId, delta);
+    }
+
+    // 아직 DB 에 반영되지 않은 댓글 수 증감
+    public long pending(Long postId) {
+        return replies.pending(postId);
+    }
+
+    @Scheduled(fixedDelayString = "${replies.flush-interval-ms:200}")
+    public synchronized void flush() {
+        Map<Long, Long> drained = replies.drain();
+        if (drained.isEmpty()) {return;}
+
+        // 글마다 따로 반영해서 한 글의 락 대기/실패가 다른 글에 번지지 않게 함 (LikeCountAggregator 와 같은 방식)
+        Map<Long, Long> applied = new HashMap<>();
+        Map<Long, Long> failed = new HashMap<>();
+        drained.forEach((postId, delta) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("UPDATE posts_counts SET reply_counts = reply_counts + ? WHERE id = ?", delta, postId);
+                    jdbcTemplate.update("UPDATE post_feed SET reply_counts = reply_counts + ? WHERE id = ?", delta, postId);
+                });
+                applied.put(postId, delta);
+            } catch (RuntimeException ex) {
+                log.warn("reply count flush failed for post {}, will be retried", postId, ex);
+                failed.put(postId, delta);
+            }
+        });
+        replies.restore(failed);
+
+        replies.complete(applied);
+        applied.forEach((postId, delta) -> hotRankingIndex.addReplies(postId, (int) (long) delta));
+    }
+
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+}
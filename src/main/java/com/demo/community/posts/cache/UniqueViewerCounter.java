@@ -0,0 +1,100 @@
+package com.demo.community.posts.cache;
+
+import com.demo.community.posts.domain.repository.PostViewCountsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 글별 고유 방문자 수 (로그인 사용자 기준) 를 HyperLogLog 로 추정.
+ * <p>
+ * 스케치는 처음 쓰일 때 post_view_counts.viewer_sketch 에서 읽어 메모리에 올리고,
+ * 바뀐 스케치만 주기적으로 저장한다. 한 주기 동안 방문이 없던 스케치는 저장된 뒤 메모리에서 내린다.
+ * 방문 기록과 내리기는 모두 ConcurrentHashMap.compute 안에서 하므로 내리는 중에 들어온 방문이 사라지지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UniqueViewerCounter {
+
+    private final PostViewCountsRepository postViewCountsRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, HyperLogLog> sketches = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    // 방문 기록 후 현재 추정치. userId 가 없으면 (비로그인) 기록 없이 추정치만
+    public long record(Long postId, Long userId) {
+        if (userId == null) {return estimate(postId);}
+
+        HyperLogLog loaded = sketches.containsKey(postId) ? null : load(postId);
+        long[] estimate = new long[1];
+        sketches.compute(postId, (id, sketch) -> {
+            if (sketch == null) {sketch = loaded != null ? loaded : load(id);}
+            synchronized (sketch) {
+                sketch.add(userId);
+                estimate[0] = sketch.estimate();
+            }
+            dirty.add(id);
+            return sketch;
+        });
+        return estimate[0];
+    }
+
+    public long estimate(Long postId) {
+        HyperLogLog sketch = sketches.get(postId);
+        if (sketch == null) {return load(postId).estimate();}
+        synchronized (sketch) {
+            return sketch.estimate();
+        }
+    }
+
+    private HyperLogLog load(Long postId) {
+        return HyperLogLog.fromBytes(postViewCountsRepository.findViewerSketch(postId));
+    }
+
+    @Scheduled(fixedDelayString = "${views.sketch-flush-interval-ms:30000}")
+    public synchronized void flush() {
+        Set<Long> flushed = new HashSet<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (Long postId : dirty) {
+            dirty.remove(postId);
+            HyperLogLog sketch = sketches.get(postId);
+            if (sketch == null) {continue;}
+            synchronized (sketch) {
+                batch.add(new Object[]{sketch.toBytes(), postId});
+            }
+            flushed.add(postId);
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate("UPDATE post_view_counts SET viewer_sketch = ? WHERE id = ?", batch);
+            } catch (RuntimeException ex) {
+                log.warn("viewer sketch flush failed, {} posts will be retried", batch.size(), ex);
+                dirty.addAll(flushed);
+                return;
+            }
+        }
+
+        // 이번 주기에 방문이 없었고 이미 저장된 스케치는 메모리에서 내림
+        for (Long postId : sketches.keySet()) {
+            if (flushed.contains(postId)) {continue;}
+            sketches.computeIfPresent(postId, (id, sketch) -> dirty.contains(id) ? sketch : null);
+        }
+    }
+
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+}
@@ -0,0 +1,73 @@
+package com.demo.community.posts.cache;
+
+import com.demo.community.common.counter.DeltaAccumulator;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 조회수 write-behind 버퍼.
+ * <p>
+ * 상세 조회마다 글별 LongAdder 만 올리고 (셀이 스레드별로 나뉘어 있어 경합이 거의 없음),
+ * 주기적으로 모인 증분을 post_view_counts / post_feed 에 JDBC 배치 한 번으로 더한다.
+ * 반영 중인 증분은 커밋될 때까지 pending() 에 남아 있으므로 읽는 쪽은 항상 DB 값 + pending() 을 보면 된다.
+ * 반영이 실패하면 증분을 버퍼로 되돌리고 다음 주기에 다시 시도한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ViewCountBuffer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final HotRankingIndex hotRankingIndex;
+
+    private final DeltaAccumulator views = new DeltaAccumulator();
+
+    public void increment(Long postId) {
+        views.add(postId, 1);
+    }
+
+    // 아직 DB 에 반영되지 않은 조회수
+    public long pending(Long postId) {
+        return views.pending(postId);
+    }
+
+    @Scheduled(fixedDelayString = "${views.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<Long, Long> drained = views.drain();
+        if (drained.isEmpty()) {return;}
+
+        List<Object[]> batch = drained.entrySet().stream()
+                .map(e -> new Object[]{e.getValue(), e.getKey()})
+                .toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(
+                        "UPDATE post_view_counts SET view_counts = view_counts + ? WHERE id = ?", batch);
+                jdbcTemplate.batchUpdate(
+                        "UPDATE post_feed SET view_counts = view_counts + ? WHERE id = ?", batch);
+            });
+        } catch (RuntimeException ex) {
+            log.warn("view count flush failed, {} posts will be retried", drained.size(), ex);
+            views.restore(drained);
+            return;
+        }
+
+        views.complete(drained);
+        drained.forEach((postId, delta) -> hotRankingIndex.addViews(postId, (int) (long) delta));
+    }
+
+    // 정상 종료 시 남은 증분을 반영 (DataSource 보다 먼저 정리되므로 아직 DB 사용 가능)
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+}
@@ -9,9 +9,11 @@ import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -45,13 +47,39 @@ public class PostController {
     @GetMapping
     public ResponseEntity<ApiResponse<PostResponseDTO.PostListSliceResponse>> getPostList(
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) Long lastSeenId
+            @RequestParam(required = false) Long lastSeenId,
+            @RequestParam(defaultValue = "latest") String sort,
+            @RequestParam(required = false) String cursor,
+            HttpServletRequest req
     ) {
-        PostResponseDTO.PostListSliceResponse slice = postService.getListPost(lastSeenId, size);
+        Long userId = (Long) req.getAttribute("userId");
+        PostResponseDTO.PostListSliceResponse slice = "hot".equals(sort)
+                ? postService.getHotListPost(cursor, size, userId)
+                : postService.getListPost(lastSeenId, cursor, size, userId);
 
         return ResponseEntity.ok(new ApiResponse<>("post list provided", slice));
     }
 
+    // 글 검색 (제목/본문/댓글)
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<PostResponseDTO.PostListSliceResponse>> searchPost(
+            @RequestParam("q") String q,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            HttpServletRequest req
+    ) {
+        Long userId = (Long) req.getAttribute("userId");
+        PostResponseDTO.PostListSliceResponse slice = postService.searchPost(q, cursor, size, userId);
+
+        return ResponseEntity.ok(new ApiResponse<>("post search result provided", slice));
+    }
+
+    // 글 실시간 이벤트 (SSE): reply-created / reply-updated / reply-deleted / like-count
+    @GetMapping(value = "/{postId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeEvents(@PathVariable("postId") Long postId){
+        return postService.subscribeEvents(postId);
+    }
+
     // 글 상세 조회
     @GetMapping("/{postId}")
     public ResponseEntity<ApiResponse<PostResponseDTO.PostDetailResponse>> detailPost(
@@ -0,0 +1,39 @@
+package com.demo.community.posts.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+// 쓰기 경합이 심한 글의 좋아요 카운터 분산 슬롯.
+// 슬롯 0 은 posts_counts 행 자체이고, 1 ~ (slotCount - 1) 번 슬롯이 이 테이블에 필요할 때 생긴다.
+// 글의 좋아요 수 = posts_counts.like_counts + 이 글 슬롯들의 like_counts 합
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@IdClass(PostCountSlot.Key.class)
+@Table(name = "post_count_slots")
+public class PostCountSlot {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Id
+    private int slot;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int likeCounts = 0;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long postId;
+        private int slot;
+    }
+}
@@ -0,0 +1,53 @@
+package com.demo.community.posts.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 글 목록/상세 읽기 전용 비정규화 테이블.
+// posts, posts_counts, post_view_counts 를 조인하지 않고 이 테이블 하나만 PK 범위로 읽는다.
+// 제목/작성자는 PostService, UserDeletionJob 이 원본과 같은 트랜잭션에서 갱신한다.
+// 좋아요/댓글/조회 수는 집계기(LikeCountAggregator, ReplyCountAggregator, ViewCountBuffer)가 주기마다 따로 반영하므로 잠깐 늦을 수 있다.
+// 처음에는 세 카운터를 쓰기 트랜잭션 안에서 같이 갱신하고 작성자 닉네임/이미지도 이 테이블에 두었지만,
+// 인기 글의 이 행 하나에 쓰기 락이 몰리고 프로필 수정마다 작성자의 글 행을 전부 고쳐야 해서 지금 구조로 바꿨다.
+@Entity
+@Table(name = "post_feed", indexes = @Index(name = "idx_post_feed_user", columnList = "user_id"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class PostFeedRow {
+
+    @Id
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "id")
+    private Posts posts;
+
+    // 작성자 닉네임/이미지는 AuthorCache 로 채움 (조인하지 않도록 FK 없이 값만 보관)
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(length = 100, nullable = false)
+    private String title;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int likeCounts = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int replyCounts = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int viewCounts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+}
@@ -23,4 +23,8 @@ public class PostViewCounts {
     @Builder.Default
     private int viewCounts = 0;
 
+    // 고유 방문자 HyperLogLog 레지스터 (UniqueViewerCounter 가 주기적으로 저장)
+    @Column(name = "viewer_sketch", length = 4096)
+    private byte[] viewerSketch;
+
 }
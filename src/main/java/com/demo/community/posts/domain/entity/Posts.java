@@ -1,6 +1,7 @@
 package com.demo.community.posts.domain.entity;
 
 import com.demo.community.common.domain.entity.BaseEntity;
+import com.demo.community.common.id.SnowflakeId;
 import com.demo.community.users.domain.enitty.Users;
 import jakarta.persistence.*;
 import lombok.*;
@@ -16,9 +17,10 @@ import java.util.stream.Collectors;
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_posts_user_cursor", columnList = "user_id, id"))
 public class Posts extends BaseEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @SnowflakeId
     private Long id;
 
     @Column(length = 100, nullable = false)
@@ -27,4 +27,9 @@ public class PostsCounts {
     @Builder.Default
     private int replyCounts = 0;
 
+    // 좋아요 카운터 슬롯 수 (1 이면 이 행 하나만 사용). 락 대기가 길어지면 LikeCounterShards 가 늘림
+    @Column(nullable = false)
+    @Builder.Default
+    private int slotCount = 1;
+
 }
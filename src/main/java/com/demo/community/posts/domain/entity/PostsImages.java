@@ -1,5 +1,6 @@
 package com.demo.community.posts.domain.entity;
 
+import com.demo.community.common.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,7 +12,7 @@ import lombok.*;
 @AllArgsConstructor
 public class PostsImages {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @SnowflakeId
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,16 @@
+package com.demo.community.posts.domain.repository;
+
+import com.demo.community.posts.domain.entity.PostCountSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostCountSlotRepository extends JpaRepository<PostCountSlot, PostCountSlot.Key> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from PostCountSlot s where s.postId = :postId")
+    void deleteByPostId(@Param("postId") Long postId);
+}
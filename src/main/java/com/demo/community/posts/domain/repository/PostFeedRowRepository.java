@@ -0,0 +1,45 @@
+package com.demo.community.posts.domain.repository;
+
+import com.demo.community.posts.domain.entity.PostFeedRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface PostFeedRowRepository extends JpaRepository<PostFeedRow, Long> {
+    void deleteById(@Param("postId") Long Id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update PostFeedRow f set f.title = :title where f.id = :postId")
+    void updateTitle(@Param("postId") Long postId, @Param("title") String title);
+
+    @Modifying
+    @Query("update PostFeedRow f set f.userId = null where f.id in :postIds")
+    int nullifyUserReferences(@Param("postIds") Collection<Long> postIds);
+
+    // --- 재구축 (정규화 테이블 -> post_feed) ---
+
+    @Modifying
+    @Query(value = "DELETE FROM post_feed", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO post_feed (id, user_id, title,
+                               like_counts, reply_counts, view_counts, created_at)
+        SELECT p.id, p.user_id, p.title,
+               COALESCE(pc.like_counts, 0)
+                   + COALESCE((SELECT SUM(s.like_counts) FROM post_count_slots s WHERE s.post_id = p.id), 0),
+               COALESCE(pc.reply_counts, 0),
+               COALESCE(pv.view_counts, 0),
+               p.created_at
+        FROM posts p
+        LEFT JOIN posts_counts pc ON pc.id = p.id
+        LEFT JOIN post_view_counts pv ON pv.id = p.id
+        """, nativeQuery = true)
+    int insertFromNormalizedTables();
+}
@@ -0,0 +1,209 @@
+package com.demo.community.posts.domain.repository;
+
+import com.demo.community.likes.domain.entity.QLikesPosts;
+import com.demo.community.posts.domain.entity.QPostFeedRow;
+import com.demo.community.posts.domain.entity.QPosts;
+import com.demo.community.posts.dto.PostResponseDTO;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+// 글 목록 조회용 QueryDSL 쿼리 모음 (PostService, HotFeedCache 가 같이 사용)
+// 작성자는 id 만 읽고 닉네임/이미지는 호출하는 쪽에서 AuthorCache 로 채움 (users 조인 없음)
+@Repository
+@RequiredArgsConstructor
+public class PostQueryRepository {
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    // 좋아요한 글 목록의 한 행. 커서는 글 id 가 아니라 좋아요 행 id (= 좋아요 누른 순서)
+    public record LikedPost(Long likeId, PostResponseDTO.PostListResponse post) {}
+
+    // id 내림차순으로 cursorId 보다 작은 글을 limit 개 조회 (cursorId 가 null 이면 최신글부터)
+    // post_feed 한 테이블의 PK 범위 스캔만 수행 (조인 없음). 첫 페이지도 같은 범위 조건을 쓰도록 Long.MAX_VALUE 로 대체
+    public List<PostResponseDTO.PostListResponse> findPostList(Long cursorId, int limit) {
+
+        QPostFeedRow f = QPostFeedRow.postFeedRow;
+
+        return jpaQueryFactory
+                .select(Projections.constructor(PostResponseDTO.PostListResponse.class,
+                        f.id, f.title, f.userId,
+                        f.likeCounts, f.replyCounts, f.viewCounts,
+                        f.createdAt
+                ))
+                .from(f)
+                .where(f.id.lt(cursorId != null ? cursorId : Long.MAX_VALUE))
+                .orderBy(f.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    // cursorId 보다 새로운 글 중 cursorId 에 가장 가까운 limit 개. 결과는 다른 목록과 같게 id 내림차순으로 뒤집어서 반환
+    public List<PostResponseDTO.PostListResponse> findNewerPostList(long cursorId, int limit) {
+
+        QPostFeedRow f = QPostFeedRow.postFeedRow;
+
+        List<PostResponseDTO.PostListResponse> rows = jpaQueryFactory
+                .select(Projections.constructor(PostResponseDTO.PostListResponse.class,
+                        f.id, f.title, f.userId,
+                        f.likeCounts, f.replyCounts, f.viewCounts,
+                        f.createdAt
+                ))
+                .from(f)
+                .where(f.id.gt(cursorId))
+                .orderBy(f.id.asc())
+                .limit(limit)
+                .fetch();
+
+        return rows.reversed();
+    }
+
+    // cursorId 보다 오래된 글이 있는지 (새로운 방향 페이지의 hasNext). PK 범위에서 한 행만 확인
+    public boolean existsPostBefore(long cursorId) {
+
+        QPostFeedRow f = QPostFeedRow.postFeedRow;
+
+        return jpaQueryFactory
+                .selectOne()
+                .from(f)
+                .where(f.id.lt(cursorId))
+                .fetchFirst() != null;
+    }
+
+    // 작성자별 글 목록. posts 의 (user_id, id) 인덱스 범위를 읽고 표시용 컬럼은 post_feed PK 로 가져옴 (content 는 읽지 않음)
+    public List<PostResponseDTO.PostListResponse> findAuthorPostList(Long userId, Long cursorId, int limit) {
+
+        QPosts p = QPosts.posts;
+        QPostFeedRow f = QPostFeedRow.postFeedRow;
+
+        return jpaQueryFactory
+                .select(Projections.constructor(PostResponseDTO.PostListResponse.class,
+                        p.id, f.title, f.userId,
+                        f.likeCounts, f.replyCounts, f.viewCounts,
+                        f.createdAt
+                ))
+                .from(p)
+                .join(f).on(f.id.eq(p.id))
+                .where(p.user.id.eq(userId),
+                        p.id.lt(cursorId != null ? cursorId : Long.MAX_VALUE))
+                .orderBy(p.user.id.desc(), p.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    public List<PostResponseDTO.PostListResponse> findNewerAuthorPostList(Long userId, long cursorId, int limit) {
+
+        QPosts p = QPosts.posts;
+        QPostFeedRow f = QPostFeedRow.postFeedRow;
+
+        List<PostResponseDTO.PostListResponse> rows = jpaQueryFactory
+                .select(Projections.constructor(PostResponseDTO.PostListResponse.class,
+                        p.id, f.title, f.userId,
+                        f.likeCounts, f.replyCounts, f.viewCounts,
+                        f.createdAt
+                ))
+                .from(p)
+                .join(f).on(f.id.eq(p.id))
+                .where(p.user.id.eq(userId), p.id.gt(cursorId))
+                .orderBy(p.user.id.asc(), p.id.asc())
+                .limit(limit)
+                .fetch();
+
+        return rows.reversed();
+    }
+
+    // 작성자의 글 중 cursorId 보다 오래된 글이 있는지. (user_id, id) 인덱스에서 한 행만 확인
+    public boolean existsAuthorPostBefore(Long userId, long cursorId) {
+
+        QPosts p = QPosts.posts;
+
+        return jpaQueryFactory
+                .selectOne()
+                .from(p)
+                .where(p.user.id.eq(userId), p.id.lt(cursorId))
+                .fetchFirst() != null;
+    }
+
+    // 유저가 좋아요한 글 목록 (좋아요 누른 순서 최신부터). likes_posts 의 (user_id, id) 인덱스 범위를 읽고 post_feed PK 로 조인
+    public List<LikedPost> findLikedPostList(Long userId, Long cursorId, int limit) {
+
+        QLikesPosts l = QLikesPosts.likesPosts;
+        QPostFeedRow f = QPostFeedRow.postFeedRow;
+        ConstructorExpression<PostResponseDTO.PostListResponse> row = feedRow(f);
+
+        return jpaQueryFactory
+                .select(l.id, row)
+                .from(l)
+                .join(f).on(f.id.eq(l.posts.id))
+                .where(l.users.id.eq(userId),
+                        l.id.lt(cursorId != null ? cursorId : Long.MAX_VALUE))
+                .orderBy(l.users.id.desc(), l.id.desc())
+                .limit(limit)
+                .fetch()
+                .stream()
+                .map(t -> new LikedPost(t.get(l.id), t.get(row)))
+                .toList();
+    }
+
+    public List<LikedPost> findNewerLikedPostList(Long userId, long cursorId, int limit) {
+
+        QLikesPosts l = QLikesPosts.likesPosts;
+        QPostFeedRow f = QPostFeedRow.postFeedRow;
+        ConstructorExpression<PostResponseDTO.PostListResponse> row = feedRow(f);
+
+        List<Tuple> rows = jpaQueryFactory
+                .select(l.id, row)
+                .from(l)
+                .join(f).on(f.id.eq(l.posts.id))
+                .where(l.users.id.eq(userId), l.id.gt(cursorId))
+                .orderBy(l.users.id.asc(), l.id.asc())
+                .limit(limit)
+                .fetch();
+
+        return rows.reversed().stream()
+                .map(t -> new LikedPost(t.get(l.id), t.get(row)))
+                .toList();
+    }
+
+    // 유저의 좋아요 중 cursorId 보다 먼저 누른 것이 있는지. (user_id, id) 인덱스에서 한 행만 확인
+    public boolean existsLikeBefore(Long userId, long cursorId) {
+
+        QLikesPosts l = QLikesPosts.likesPosts;
+
+        return jpaQueryFactory
+                .selectOne()
+                .from(l)
+                .where(l.users.id.eq(userId), l.id.lt(cursorId))
+                .fetchFirst() != null;
+    }
+
+    private static ConstructorExpression<PostResponseDTO.PostListResponse> feedRow(QPostFeedRow f) {
+        return Projections.constructor(PostResponseDTO.PostListResponse.class,
+                f.id, f.title, f.userId,
+                f.likeCounts, f.replyCounts, f.viewCounts,
+                f.createdAt
+        );
+    }
+
+    // 지정한 글들만 PK IN 으로 조회 (순서는 호출하는 쪽에서 맞춤)
+    public List<PostResponseDTO.PostListResponse> findPostListByIds(Collection<Long> postIds) {
+
+        QPostFeedRow f = QPostFeedRow.postFeedRow;
+
+        return jpaQueryFactory
+                .select(Projections.constructor(PostResponseDTO.PostListResponse.class,
+                        f.id, f.title, f.userId,
+                        f.likeCounts, f.replyCounts, f.viewCounts,
+                        f.createdAt
+                ))
+                .from(f)
+                .where(f.id.in(postIds))
+                .fetch();
+    }
+}
@@ -1,12 +1,14 @@
 package com.demo.community.posts.domain.repository;
 
 import com.demo.community.posts.domain.entity.Posts;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,7 +19,11 @@ public interface PostRepository extends JpaRepository<Posts, Long> {
     @Query(value = "SELECT * FROM posts WHERE id < :cursorId ORDER BY id DESC LIMIT :limit", nativeQuery = true)
     List<Posts> listOtherPage(@Param("cursorId") Long cursorId, @Param("limit") int limit);
 
+    // 탈퇴 처리용: 유저의 글 id 를 limit 개씩 (user_id 인덱스 범위)
+    @Query("select p.id from Posts p where p.user.id = :userId order by p.id asc")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
     @Modifying
-    @Query("update Posts lp set lp.user = null where lp.user.id = :userId")
-    int nullifyUserReferences(@Param("userId") Long userId);
+    @Query("update Posts lp set lp.user = null where lp.id in :ids")
+    int nullifyUserReferences(@Param("ids") Collection<Long> ids);
 }
@@ -11,14 +11,18 @@ import org.springframework.stereotype.Repository;
 public interface PostsCountsRepository extends JpaRepository<PostsCounts, Long> {
     void deleteById(@Param("postId") Long Id);
 
-    @Modifying(flushAutomatically = true, clearAutomatically = true)
-    @Query("update PostsCounts p set p.likeCounts = p.likeCounts + 1 where p.posts.id = :postId")
-    void incrementLikeCount(@Param("postId") Long postId);
+    // 슬롯까지 합친 좋아요 수. 글이 없으면 null
+    @Query("""
+        select pc.likeCounts + coalesce((select sum(s.likeCounts) from PostCountSlot s where s.postId = pc.id), 0)
+        from PostsCounts pc where pc.id = :postId
+        """)
+    Long findLikeCount(@Param("postId") Long postId);
 
-    @Modifying(flushAutomatically = true, clearAutomatically = true)
-    @Query("update PostsCounts p set p.likeCounts = p.likeCounts - 1 where p.posts.id = :postId")
-    void decrementLikeCount(@Param("postId") Long postId);
-
-    @Query("select pc.likeCounts from PostsCounts pc where pc.posts.id = :postId")
-    int getLikeCount(@Param("postId") Long postId);
+    // 댓글 수를 replies 행 수로 다시 맞춤 (post_feed 재구축 전에 실행)
+    @Modifying
+    @Query(value = """
+        UPDATE posts_counts pc
+        SET reply_counts = (SELECT COUNT(*) FROM replies r WHERE r.post_id = pc.id)
+        """, nativeQuery = true)
+    int recountReplies();
 }
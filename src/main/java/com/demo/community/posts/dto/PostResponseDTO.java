@@ -1,5 +1,6 @@
 package com.demo.community.posts.dto;
 
+import com.demo.community.users.dto.AuthorSummary;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -32,7 +33,7 @@ public class PostResponseDTO {
         private LocalDateTime modifiedAt;
     }
 
-    @Builder
+    @Builder(toBuilder = true)
     @AllArgsConstructor
     @NoArgsConstructor
     @Getter
@@ -40,12 +41,28 @@ public class PostResponseDTO {
     public static class PostListResponse {
         private Long postId;
         private String title;
+        private Long userId;
         private String nickname;
         private String userImage;
         private int likeCount;
         private int replyCount;
         private int viewCount;
         private LocalDateTime createdAt;
+        private boolean likePressed;
+
+        // QueryDSL 목록 projection 용 (작성자 닉네임/이미지와 좋아요 여부는 조회 후 채움)
+        public PostListResponse(Long postId, String title, Long userId,
+                                int likeCount, int replyCount, int viewCount, LocalDateTime createdAt) {
+            this(postId, title, userId, null, null, likeCount, replyCount, viewCount, createdAt, false);
+        }
+
+        // 작성자 닉네임/이미지를 채운 복사본 (author 가 null 이면 탈퇴한 작성자)
+        public PostListResponse withAuthor(AuthorSummary author) {
+            return toBuilder()
+                    .nickname(author == null ? null : author.nickname())
+                    .userImage(author == null ? null : author.profileImage())
+                    .build();
+        }
     }
 
     @Builder
@@ -57,6 +74,7 @@ public class PostResponseDTO {
         private int like;
         private int visit;
         private int reply;
+        private long uniqueVisit;   // 고유 방문자 추정치 (HyperLogLog)
     }
 
     @Builder
@@ -85,5 +103,8 @@ public class PostResponseDTO {
         private List<PostListResponse> items;
         private boolean hasNext;
         private Long nextCursorId;
+        // 불투명 커서 토큰. nextCursor: 더 오래된(다음) 페이지, prevCursor: 더 새로운 페이지
+        private String nextCursor;
+        private String prevCursor;
     }
 }
@@ -0,0 +1,203 @@
+package com.demo.community.posts.events;
+
+import com.demo.community.posts.cache.LikeCountAggregator;
+import com.demo.community.posts.domain.repository.PostsCountsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 글 단위 실시간 이벤트 (SSE) 를 구독자에게 나눠주는 메모리 내 허브.
+ * <p>
+ * 구독은 서블릿 비동기 요청 (SseEmitter) 이라 연결이 열려 있는 동안 요청 스레드를 잡지 않는다.
+ * 전송은 구독자마다 큐를 두고 가상 스레드에서 순서대로 내보내므로, 느린 구독자가 다른 구독자나 발행하는 쪽을 막지 않고
+ * 큐가 MAX_QUEUED 를 넘으면 그 연결은 끊는다 (클라이언트가 다시 연결).
+ * 댓글 이벤트는 커밋 후 바로 보내고, 좋아요는 바뀐 글만 표시해 두었다가 주기마다 최신 좋아요 수 하나로 합쳐 보낸다.
+ * 노드당 구독자 수는 maxSubscribers 로 제한한다.
+ */
+@Slf4j
+@Component
+public class PostEventHub {
+
+    private static final int MAX_QUEUED = 64;
+
+    public record RepliesDeleted(List<Long> replyIds) {}
+    public record LikeCount(long likeCount) {}
+
+    private final PostsCountsRepository postsCountsRepository;
+    private final LikeCountAggregator likeCountAggregator;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    // 마지막 전송 이후 좋아요가 바뀐 글
+    private final Set<Long> likeChanged = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PostEventHub(PostsCountsRepository postsCountsRepository,
+                        LikeCountAggregator likeCountAggregator,
+                        @Value("${events.max-subscribers:2000}") int maxSubscribers,
+                        @Value("${events.timeout-ms:1800000}") long timeoutMillis) {
+        this.postsCountsRepository = postsCountsRepository;
+        this.likeCountAggregator = likeCountAggregator;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter subscribe(Long postId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many event subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(postId, emitter);
+        subscribers.compute(postId, (id, set) -> {
+            Set<Subscriber> next = set == null ? ConcurrentHashMap.newKeySet() : set;
+            next.add(subscriber);
+            return next;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> remove(subscriber));
+
+        // 헤더를 바로 내보내서 클라이언트가 연결 성공을 알 수 있게 함
+        subscriber.enqueue(SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    public void replyCreated(Long postId, Object reply) {
+        publish(postId, "reply-created", reply);
+    }
+
+    public void replyUpdated(Long postId, Object reply) {
+        publish(postId, "reply-updated", reply);
+    }
+
+    public void repliesDeleted(Long postId, List<Long> replyIds) {
+        publish(postId, "reply-deleted", new RepliesDeleted(replyIds));
+    }
+
+    // 구독자가 있는 글만 표시. 실제 전송은 flushLikes 에서 합쳐서
+    public void likeChanged(Long postId) {
+        if (subscribers.containsKey(postId)) {likeChanged.add(postId);}
+    }
+
+    @Scheduled(fixedDelayString = "${events.like-coalesce-ms:500}")
+    public void flushLikes() {
+        for (Iterator<Long> it = likeChanged.iterator(); it.hasNext(); ) {
+            Long postId = it.next();
+            it.remove();
+            if (!subscribers.containsKey(postId)) {continue;}
+            try {
+                Long persisted = postsCountsRepository.findLikeCount(postId);
+                if (persisted == null) {continue;}
+                publish(postId, "like-count", new LikeCount(persisted + likeCountAggregator.pending(postId)));
+            } catch (RuntimeException ex) {
+                log.warn("like count event for post {} skipped", postId, ex);
+            }
+        }
+    }
+
+    // 프록시/로드밸런서가 조용한 연결을 끊지 않도록, 끊긴 연결은 전송 실패로 정리되도록
+    @Scheduled(fixedDelayString = "${events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.enqueue(ping)));
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void publish(Long postId, String name, Object data) {
+        Set<Subscriber> set = subscribers.get(postId);
+        if (set == null || set.isEmpty()) {return;}
+        // 한 번만 직렬화해서 모든 구독자에게 같은 내용을 보냄
+        Set<ResponseBodyEmitter.DataWithMediaType> event =
+                SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON).build();
+        set.forEach(subscriber -> subscriber.enqueue(event));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {return;}
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.postId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdown();
+    }
+
+    private final class Subscriber {
+
+        final Long postId;
+        final SseEmitter emitter;
+        final ConcurrentLinkedQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(Long postId, SseEmitter emitter) {
+            this.postId = postId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (closed.get()) {return;}
+            if (queued.incrementAndGet() > MAX_QUEUED) {
+                // 못 따라오는 구독자는 끊음
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            queue.add(event);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        // 한 구독자에 대해서는 항상 하나의 가상 스레드만 보내므로 이벤트 순서가 유지됨
+        void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while ((event = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    if (closed.get()) {continue;}
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException ex) {
+                        // 클라이언트가 끊었거나 이미 끝난 연결
+                        remove(this);
+                    }
+                }
+                draining.set(false);
+                if (queue.isEmpty() || !draining.compareAndSet(false, true)) {return;}
+            }
+        }
+    }
+}
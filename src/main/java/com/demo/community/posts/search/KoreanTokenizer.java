@@ -0,0 +1,93 @@
+package com.demo.community.posts.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 검색용 토크나이저.
+ * <p>
+ * 형태소 분석기 없이 한글(및 한자/가나) 연속 구간은 2글자씩 겹치게 자른 bigram 으로,
+ * 영문/숫자 연속 구간은 소문자 단어 하나로 만든다.
+ * 조사가 붙어도 ("커뮤니티에서" -> 커뮤, 뮤니, 니티, 티에, 에서) 원형의 bigram 이 모두 포함되므로 검색된다.
+ * 색인할 때는 한글 구간의 글자 하나하나(unigram)도 같이 넣어서 한 글자 검색어("글")도 찾을 수 있게 한다.
+ * 검색어는 두 글자 이상이면 bigram 만, 한 글자면 unigram 으로 찾는다 (queryTokens).
+ */
+public final class KoreanTokenizer {
+
+    private static final int MAX_TERM_LENGTH = 64;
+
+    private KoreanTokenizer() {}
+
+    // 색인용 토큰 (bigram + unigram)
+    public static List<String> tokenize(String text) {
+        return tokenize(text, true);
+    }
+
+    // 검색어용 토큰 (한 글자 구간만 unigram)
+    public static List<String> queryTokens(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean withUnigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {return tokens;}
+
+        int i = 0;
+        int n = text.length();
+        while (i < n) {
+            int cp = text.codePointAt(i);
+            if (isCjk(cp)) {
+                int start = i;
+                while (i < n && isCjk(text.codePointAt(i))) {i += Character.charCount(text.codePointAt(i));}
+                addCjkTerms(text.substring(start, i), withUnigrams, tokens);
+            } else if (Character.isLetterOrDigit(cp)) {
+                int start = i;
+                while (i < n) {
+                    int c = text.codePointAt(i);
+                    if (!Character.isLetterOrDigit(c) || isCjk(c)) {break;}
+                    i += Character.charCount(c);
+                }
+                String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (word.length() <= MAX_TERM_LENGTH) {tokens.add(word);}
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+        return tokens;
+    }
+
+    // 토큰별 등장 횟수
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> tf = new HashMap<>();
+        for (String token : tokenize(text)) {
+            tf.merge(token, 1, Integer::sum);
+        }
+        return tf;
+    }
+
+    private static void addCjkTerms(String run, boolean withUnigrams, List<String> tokens) {
+        int[] cps = run.codePoints().toArray();
+        if (cps.length == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int j = 0; j + 1 < cps.length; j++) {
+            tokens.add(new String(cps, j, 2));
+        }
+        if (!withUnigrams) {return;}
+        for (int cp : cps) {
+            tokens.add(Character.toString(cp));
+        }
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
@@ -0,0 +1,92 @@
+package com.demo.community.posts.search;
+
+import com.demo.community.posts.domain.entity.QPosts;
+import com.demo.community.replies.domain.entity.QReplies;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 디스크에 완성된 검색 인덱스가 없을 때 (첫 배포, 인덱스 디렉토리 삭제, 토큰 규칙 변경, 이전 채우기 중단)
+// DB 에서 글/댓글을 id 순으로 나눠 읽어 채움.
+// 기동을 막지 않도록 별도 스레드에서 실행. 그 사이 실시간 변경이 먼저 닿은 글/댓글은 PostSearchIndex 가 건너뜀.
+// 중간에 실패하면 완료 표시를 남기지 않고 RETRY_DELAY_MILLIS 뒤에 처음부터 다시 읽음 (이미 넣은 파트는 같은 값으로 덮어씀).
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSearchBootstrap {
+
+    private static final int CHUNK = 200;
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+
+    private final PostSearchIndex postSearchIndex;
+    private final JPAQueryFactory jpaQueryFactory;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (!postSearchIndex.needsBootstrap()) {return;}
+
+        Thread t = new Thread(() -> {
+            while (true) {
+                try {
+                    indexPosts();
+                    indexReplies();
+                    postSearchIndex.finishBootstrap();
+                    return;
+                } catch (RuntimeException ex) {
+                    log.warn("search index bootstrap failed, retrying in {} ms", RETRY_DELAY_MILLIS, ex);
+                }
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "search-bootstrap");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void indexPosts() {
+        QPosts p = QPosts.posts;
+        long cursor = 0;
+        while (true) {
+            List<Tuple> rows = jpaQueryFactory
+                    .select(p.id, p.title, p.content)
+                    .from(p)
+                    .where(p.id.gt(cursor))
+                    .orderBy(p.id.asc())
+                    .limit(CHUNK)
+                    .fetch();
+            for (Tuple row : rows) {
+                postSearchIndex.bootstrapPost(row.get(p.id), row.get(p.title), row.get(p.content));
+            }
+            if (rows.size() < CHUNK) {return;}
+            cursor = rows.getLast().get(p.id);
+        }
+    }
+
+    private void indexReplies() {
+        QReplies r = QReplies.replies;
+        long cursor = 0;
+        while (true) {
+            List<Tuple> rows = jpaQueryFactory
+                    .select(r.id, r.posts.id, r.content)
+                    .from(r)
+                    .where(r.id.gt(cursor))
+                    .orderBy(r.id.asc())
+                    .limit(CHUNK)
+                    .fetch();
+            for (Tuple row : rows) {
+                postSearchIndex.bootstrapReply(row.get(r.posts.id), row.get(r.id), row.get(r.content));
+            }
+            if (rows.size() < CHUNK) {return;}
+            cursor = rows.getLast().get(r.id);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.demo.community.posts.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 글 제목/본문/댓글 전문 검색용 역색인 (프로세스 내장).
+ * <p>
+ * 글 하나가 문서 하나이고, 문서는 제목/본문/댓글(댓글 id 별) 파트로 나뉜다.
+ * 파트 단위로 교체/삭제되므로 댓글 하나가 바뀌어도 그 댓글의 토큰만 다시 넣으면 된다.
+ * 역색인은 힙에 두고, 모든 변경은 SearchSegmentLog 에 기록했다가 기동 시 세그먼트를 재생해서 복원한다.
+ * 세그먼트 압축은 압축 스레드에서 한다. 쓰기 락 안에서는 세그먼트를 넘기고 파트 참조만 복사하고,
+ * 스냅샷 파일 쓰기는 락 밖에서 하므로 글/댓글 작성 요청이 스냅샷 재작성을 기다리지 않는다.
+ * 디스크의 인덱스가 완료 표시 없이 남아 있으면 (채우다 죽었거나 실패) 버리고 DB 에서 처음부터 다시 채운다.
+ * 채우는 동안(bootstrap*) 실시간 변경이 닿은 파트는 기록해 두고,
+ * 그 파트에 대한 bootstrap 쓰기는 건너뛴다 (먼저 읽어둔 옛 값이 새 값을 덮지 않도록).
+ * 랭킹은 BM25 (제목 토큰은 TITLE_WEIGHT 배), 검색어의 모든 토큰을 포함한 글만 결과에 나온다.
+ */
+@Slf4j
+@Component
+public class PostSearchIndex {
+
+    private static final long PART_TITLE = -1;
+    private static final long PART_CONTENT = -2;
+    private static final int TITLE_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 지난 압축 직후보다 세그먼트가 이만큼 늘면 현재 상태만 남기고 압축
+    private static final int COMPACT_AFTER_SEGMENTS = 16;
+
+    public record Hit(double score, long postId) {}
+
+    public static final Comparator<Hit> ORDER = Comparator
+            .comparingDouble(Hit::score).reversed()
+            .thenComparing(Comparator.comparingLong(Hit::postId).reversed());
+
+    private record PartKey(long postId, long part) {}
+
+    private static final class Doc {
+        final Map<Long, Map<String, Integer>> parts = new HashMap<>();
+        Map<String, Integer> weights = Map.of();
+        int length;
+    }
+
+    private final Path dir;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private long totalLength;
+    private SearchSegmentLog segmentLog;
+    private boolean needsBootstrap;
+    // DB 에서 채우는 중에 실시간 변경이 닿은 파트 / 삭제된 글 (쓰기 락 안에서만 접근)
+    private boolean bootstrapping;
+    private final Set<PartKey> touchedParts = new HashSet<>();
+    private final Set<Long> removedPosts = new HashSet<>();
+    // 압축 상태 (쓰기 락 안에서만 접근)
+    private boolean compacting;
+    private int segmentsAfterCompaction;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "search-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public PostSearchIndex(@Value("${search.index-dir:./search-index}") String dir) {
+        this.dir = Path.of(dir);
+    }
+
+    @PostConstruct
+    void open() {
+        lock.writeLock().lock();
+        try {
+            segmentLog = new SearchSegmentLog(dir);
+            if (segmentLog.isComplete()) {
+                segmentLog.replay(this::applyRecord);
+            } else {
+                segmentLog.reset();
+                needsBootstrap = true;
+            }
+            bootstrapping = needsBootstrap;
+            segmentsAfterCompaction = segmentLog.segmentCount();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 디스크에 완성된 인덱스가 없어서 DB 에서 처음부터 채워야 하는지
+    public boolean needsBootstrap() {
+        return needsBootstrap;
+    }
+
+    public void indexPost(long postId, String title, String content) {
+        write(SearchSegmentLog.OP_PUT_PART, postId, PART_TITLE, KoreanTokenizer.termFrequencies(title), false);
+        write(SearchSegmentLog.OP_PUT_PART, postId, PART_CONTENT, KoreanTokenizer.termFrequencies(content), false);
+    }
+
+    public void indexReply(long postId, long replyId, String content) {
+        write(SearchSegmentLog.OP_PUT_PART, postId, replyId, KoreanTokenizer.termFrequencies(content), false);
+    }
+
+    public void removeReply(long postId, long replyId) {
+        write(SearchSegmentLog.OP_REMOVE_PART, postId, replyId, Map.of(), false);
+    }
+
+    public void removePost(long postId) {
+        write(SearchSegmentLog.OP_REMOVE_POST, postId, 0, Map.of(), false);
+    }
+
+    // DB 에서 읽어온 글. 읽은 뒤에 실시간 변경이 먼저 반영됐으면 건너뜀
+    public void bootstrapPost(long postId, String title, String content) {
+        write(SearchSegmentLog.OP_PUT_PART, postId, PART_TITLE, KoreanTokenizer.termFrequencies(title), true);
+        write(SearchSegmentLog.OP_PUT_PART, postId, PART_CONTENT, KoreanTokenizer.termFrequencies(content), true);
+    }
+
+    public void bootstrapReply(long postId, long replyId, String content) {
+        write(SearchSegmentLog.OP_PUT_PART, postId, replyId, KoreanTokenizer.termFrequencies(content), true);
+    }
+
+    // DB 에서 끝까지 채웠을 때만 호출. 완료 표시를 남기고, 이후로는 실시간 변경을 따로 기록하지 않음
+    public void finishBootstrap() {
+        lock.writeLock().lock();
+        try {
+            segmentLog.markComplete();
+            bootstrapping = false;
+            touchedParts.clear();
+            removedPosts.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // after 다음 순위부터 limit 개 (after 가 null 이면 처음부터)
+    public List<Hit> search(String query, Hit after, int limit) {
+        Set<String> terms = new LinkedHashSet<>(KoreanTokenizer.queryTokens(query));
+        if (terms.isEmpty()) {return List.of();}
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<String> byRarity = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                if (!postings.containsKey(term)) {return List.of();}
+                byRarity.add(term);
+            }
+            byRarity.sort(Comparator.comparingInt(t -> postings.get(t).size()));
+
+            int n = docs.size();
+            double avgLength = n == 0 ? 1 : (double) totalLength / n;
+
+            candidates:
+            for (Map.Entry<Long, Integer> candidate : postings.get(byRarity.getFirst()).entrySet()) {
+                long postId = candidate.getKey();
+                double norm = K1 * (1 - B + B * docs.get(postId).length / avgLength);
+                double score = 0;
+                for (String term : byRarity) {
+                    Map<Long, Integer> list = postings.get(term);
+                    Integer tf = list.get(postId);
+                    if (tf == null) {continue candidates;}
+                    double idf = Math.log(1 + (n - list.size() + 0.5) / (list.size() + 0.5));
+                    score += idf * tf * (K1 + 1) / (tf + norm);
+                }
+                hits.add(new Hit(score, postId));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(ORDER);
+        List<Hit> page = new ArrayList<>(limit);
+        for (Hit hit : hits) {
+            if (after != null && ORDER.compare(hit, after) <= 0) {continue;}
+            if (page.size() == limit) {break;}
+            page.add(hit);
+        }
+        return page;
+    }
+
+    private void write(byte op, long postId, long part, Map<String, Integer> terms, boolean fromBootstrap) {
+        lock.writeLock().lock();
+        try {
+            if (bootstrapping) {
+                if (fromBootstrap) {
+                    if (removedPosts.contains(postId) || touchedParts.contains(new PartKey(postId, part))) {return;}
+                } else if (op == SearchSegmentLog.OP_REMOVE_POST) {
+                    removedPosts.add(postId);
+                } else {
+                    touchedParts.add(new PartKey(postId, part));
+                }
+            }
+            applyRecord(op, postId, part, terms);
+            segmentLog.append(op, postId, part, terms);
+            if (!compacting && segmentLog.segmentCount() - segmentsAfterCompaction >= COMPACT_AFTER_SEGMENTS) {
+                compacting = true;
+                compactor.execute(this::compact);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compact() {
+        long snapshotNo;
+        List<SearchSegmentLog.SnapshotEntry> entries = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            snapshotNo = segmentLog.beginCompaction();
+            docs.forEach((postId, doc) -> doc.parts.forEach((part, terms) ->
+                    entries.add(new SearchSegmentLog.SnapshotEntry(postId, part, terms))));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        boolean written = false;
+        try {
+            segmentLog.writeSnapshot(snapshotNo, entries);
+            written = true;
+        } catch (RuntimeException ex) {
+            log.warn("search index compaction failed, keeping the previous segments", ex);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (written) {
+                segmentLog.finishCompaction(snapshotNo);
+            } else {
+                segmentLog.abortCompaction(snapshotNo);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("search index compaction cleanup failed", ex);
+        } finally {
+            // 실패해도 다음 COMPACT_AFTER_SEGMENTS 개가 쌓일 때까지는 다시 시도하지 않음
+            segmentsAfterCompaction = segmentLog.segmentCount();
+            compacting = false;
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyRecord(byte op, long postId, long part, Map<String, Integer> terms) {
+        Doc doc = docs.computeIfAbsent(postId, id -> new Doc());
+        switch (op) {
+            case SearchSegmentLog.OP_PUT_PART -> doc.parts.put(part, terms);
+            case SearchSegmentLog.OP_REMOVE_PART -> doc.parts.remove(part);
+            case SearchSegmentLog.OP_REMOVE_POST -> doc.parts.clear();
+            default -> throw new IllegalStateException("unknown search log op " + op);
+        }
+        reweigh(postId, doc);
+    }
+
+    // 문서의 파트들을 합쳐 토큰 가중치를 다시 계산하고 역색인에 반영
+    private void reweigh(long postId, Doc doc) {
+        for (String term : doc.weights.keySet()) {
+            Map<Long, Integer> list = postings.get(term);
+            list.remove(postId);
+            if (list.isEmpty()) {postings.remove(term);}
+        }
+        totalLength -= doc.length;
+
+        if (doc.parts.isEmpty()) {
+            docs.remove(postId);
+            return;
+        }
+
+        Map<String, Integer> weights = new HashMap<>();
+        doc.parts.forEach((part, terms) -> {
+            int multiplier = part == PART_TITLE ? TITLE_WEIGHT : 1;
+            terms.forEach((term, tf) -> weights.merge(term, tf * multiplier, Integer::sum));
+        });
+
+        int length = 0;
+        for (Map.Entry<String, Integer> e : weights.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), t -> new HashMap<>()).put(postId, e.getValue());
+            length += e.getValue();
+        }
+        doc.weights = weights;
+        doc.length = length;
+        totalLength += length;
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        compactor.shutdown();
+        compactor.awaitTermination(30, TimeUnit.SECONDS);
+        lock.writeLock().lock();
+        try {
+            segmentLog.flush();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
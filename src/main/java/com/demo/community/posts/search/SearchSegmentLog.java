@@ -0,0 +1,264 @@
+package com.demo.community.posts.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 검색 인덱스의 디스크 저장소. 메모리 매핑된 세그먼트 파일에 변경 기록을 순서대로 덧붙인다.
+ * <p>
+ * 세그먼트는 재시작 시 복원용 기록일 뿐이고, 검색은 PostSearchIndex 가 힙에 들고 있는 역색인으로 한다
+ * (세그먼트에서 바로 postings 를 읽지 않음).
+ * 토큰 규칙이 바뀌면 MAGIC 을 올린다. DB 에서 끝까지 채운 뒤에만 현재 MAGIC 을 담은 완료 표시 파일을 남기고,
+ * 완료 표시가 없거나 MAGIC 이 다르면 (채우다 죽었거나 실패, 토큰 규칙 변경) 세그먼트를 모두 지우고 처음부터 다시 채운다.
+ * 파일 형식: [MAGIC:int] 다음에 레코드가 이어지고, 길이 0 을 만나면 끝.
+ * 레코드: [length:int][op:byte][postId:long][part:long][termCount:int] ([len:short][utf8][tf:int]) * termCount
+ * 세그먼트가 가득 차면 새 세그먼트를 만들고, 기동 시에는 모든 세그먼트를 순서대로 재생해서 인덱스를 복원한다.
+ * 압축은 번호 하나를 비워두고 이후 쓰기를 그 다음 번호로 넘긴 뒤, 비워둔 번호에 그 뒤 시점의 상태(PUT 만)를 쓰고
+ * 앞선 세그먼트를 지운다. 스냅샷을 다 쓰기 전에 죽어도 앞선 세그먼트 + 스냅샷 일부 + 이후 세그먼트를 재생하면 같은 상태가 된다.
+ * 이 클래스는 스레드 안전하지 않음 (writeSnapshot 만 락 밖에서 호출 가능, 나머지는 PostSearchIndex 의 쓰기 락 안에서만).
+ */
+class SearchSegmentLog {
+
+    static final byte OP_PUT_PART = 1;
+    static final byte OP_REMOVE_PART = 2;
+    static final byte OP_REMOVE_POST = 3;
+
+    private static final int MAGIC = 0x53454732; // "SEG2"
+    private static final int SEGMENT_SIZE = 8 * 1024 * 1024;
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".seg";
+    private static final String COMPLETE_MARKER = "complete";
+
+    interface Replayer {
+        void apply(byte op, long postId, long part, Map<String, Integer> terms);
+    }
+
+    // 스냅샷에 쓸 파트 하나 (terms 는 쓰는 동안 바뀌지 않는 맵)
+    record SnapshotEntry(long postId, long part, Map<String, Integer> terms) {}
+
+    private final Path dir;
+    private MappedByteBuffer current;
+    private Path currentPath;
+    private long nextSegmentNo;
+    private int segmentCount;
+
+    SearchSegmentLog(Path dir) {
+        this.dir = dir;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    List<Path> segments() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIX) && p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // DB 에서 끝까지 채운 적이 있는지 (현재 MAGIC 으로)
+    boolean isComplete() {
+        Path marker = dir.resolve(COMPLETE_MARKER);
+        try {
+            if (!Files.exists(marker)) {return false;}
+            byte[] bytes = Files.readAllBytes(marker);
+            return bytes.length == 4 && ByteBuffer.wrap(bytes).getInt() == MAGIC;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 지금까지 쓴 세그먼트를 디스크에 내리고 완료 표시를 남김 (임시 파일에 쓰고 바꿔치기)
+    void markComplete() {
+        flush();
+        Path tmp = dir.resolve(COMPLETE_MARKER + ".tmp");
+        try {
+            Files.write(tmp, ByteBuffer.allocate(4).putInt(MAGIC).array());
+            Files.move(tmp, dir.resolve(COMPLETE_MARKER), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 완료 표시와 세그먼트를 모두 지움 (처음부터 다시 채우기 전). 이후 쓰기는 1번 세그먼트부터
+    void reset() {
+        try {
+            Files.deleteIfExists(dir.resolve(COMPLETE_MARKER));
+            for (Path segment : segments()) {
+                Files.deleteIfExists(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        current = null;
+        currentPath = null;
+        nextSegmentNo = 1;
+        segmentCount = 0;
+    }
+
+    // 모든 세그먼트를 재생하고 재생한 세그먼트 수를 돌려줌. 이후 쓰기는 새 세그먼트에 이어짐
+    int replay(Replayer replayer) {
+        List<Path> segments = segments();
+        int replayed = 0;
+        for (Path segment : segments) {
+            try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                if (buf.remaining() < 4 || buf.getInt() != MAGIC) {continue;}
+                replayed++;
+                while (buf.remaining() >= 4) {
+                    int length = buf.getInt();
+                    if (length <= 0 || length > buf.remaining()) {break;}
+                    byte op = buf.get();
+                    long postId = buf.getLong();
+                    long part = buf.getLong();
+                    int termCount = buf.getInt();
+                    Map<String, Integer> terms = new HashMap<>(termCount * 2);
+                    for (int i = 0; i < termCount; i++) {
+                        byte[] bytes = new byte[buf.getShort()];
+                        buf.get(bytes);
+                        terms.put(new String(bytes, StandardCharsets.UTF_8), buf.getInt());
+                    }
+                    replayer.apply(op, postId, part, terms);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        nextSegmentNo = segments.isEmpty() ? 1 : segmentNo(segments.getLast()) + 1;
+        segmentCount = segments.size();
+        return replayed;
+    }
+
+    void append(byte op, long postId, long part, Map<String, Integer> terms) {
+        int length = recordLength(terms);
+        ensureCapacity(4 + length);
+        put(current, length, op, postId, part, terms);
+    }
+
+    // 압축 시작. 번호 하나를 스냅샷 자리로 비워두고 이후 쓰기는 그 다음 번호의 새 세그먼트로 보냄
+    long beginCompaction() {
+        long snapshotNo = nextSegmentNo++;
+        roll(SEGMENT_SIZE);
+        return snapshotNo;
+    }
+
+    // 비워둔 번호에 스냅샷을 한 파일로 쓰고 디스크에 내림. 공유 상태를 건드리지 않으므로 락 밖 (압축 스레드) 에서 호출
+    void writeSnapshot(long snapshotNo, List<SnapshotEntry> entries) {
+        long size = 4 + 4;
+        for (SnapshotEntry e : entries) {
+            size += 4 + recordLength(e.terms());
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("search snapshot too large: " + size + " bytes");
+        }
+        try (FileChannel ch = FileChannel.open(segmentPath(snapshotNo),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buf.putInt(MAGIC);
+            for (SnapshotEntry e : entries) {
+                put(buf, recordLength(e.terms()), OP_PUT_PART, e.postId(), e.part(), e.terms());
+            }
+            buf.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 스냅샷이 디스크에 내려간 뒤 그보다 앞선 세그먼트를 지움
+    void finishCompaction(long snapshotNo) {
+        try {
+            for (Path p : segments()) {
+                if (segmentNo(p) < snapshotNo) {Files.deleteIfExists(p);}
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segmentCount = segments().size();
+    }
+
+    // 스냅샷 쓰기에 실패하면 쓰다 만 파일만 지움 (앞선 세그먼트가 그대로 있으므로 상태는 그대로)
+    void abortCompaction(long snapshotNo) {
+        try {
+            Files.deleteIfExists(segmentPath(snapshotNo));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    int segmentCount() {
+        return segmentCount;
+    }
+
+    void flush() {
+        if (current != null) {current.force();}
+    }
+
+    private void ensureCapacity(int bytes) {
+        // 다음 레코드 길이 자리(0 = 끝 표시)까지 남겨둠
+        if (current == null || current.remaining() < bytes + 4) {
+            roll(Math.max(SEGMENT_SIZE, 4 + bytes + 4));
+        }
+    }
+
+    private void roll(int size) {
+        flush();
+        currentPath = segmentPath(nextSegmentNo++);
+        try (FileChannel ch = FileChannel.open(currentPath,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            current = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            current.putInt(MAGIC);
+            segmentCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentPath(long segmentNo) {
+        return dir.resolve(String.format("%s%012d%s", PREFIX, segmentNo, SUFFIX));
+    }
+
+    private static int recordLength(Map<String, Integer> terms) {
+        int length = 1 + 8 + 8 + 4;
+        for (String term : terms.keySet()) {
+            length += 2 + term.getBytes(StandardCharsets.UTF_8).length + 4;
+        }
+        return length;
+    }
+
+    private static void put(MappedByteBuffer buf, int length, byte op, long postId, long part, Map<String, Integer> terms) {
+        buf.putInt(length);
+        buf.put(op);
+        buf.putLong(postId);
+        buf.putLong(part);
+        buf.putInt(terms.size());
+        terms.forEach((term, tf) -> {
+            byte[] bytes = term.getBytes(StandardCharsets.UTF_8);
+            buf.putShort((short) bytes.length);
+            buf.put(bytes);
+            buf.putInt(tf);
+        });
+    }
+
+    private static long segmentNo(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
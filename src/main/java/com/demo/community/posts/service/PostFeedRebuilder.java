@@ -0,0 +1,38 @@
+package com.demo.community.posts.service;
+
+import com.demo.community.posts.domain.repository.PostFeedRowRepository;
+import com.demo.community.posts.domain.repository.PostRepository;
+import com.demo.community.posts.domain.repository.PostsCountsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// post_feed 재구축 커맨드.
+// `--rebuild-post-feed` 옵션으로 실행하면 post_feed 를 비우고 정규화 테이블에서 다시 채운다.
+// 댓글 수는 posts_counts.reply_counts 를 replies 행 수로 먼저 맞춘 뒤 그 값을 옮긴다.
+// 옵션이 없어도 post_feed 가 비어있는데 글이 있으면 (첫 배포 등) 한 번 채운다.
+@Component
+@RequiredArgsConstructor
+public class PostFeedRebuilder implements ApplicationRunner {
+
+    public static final String REBUILD_OPTION = "rebuild-post-feed";
+
+    private final PostFeedRowRepository postFeedRowRepository;
+    private final PostRepository postRepository;
+    private final PostsCountsRepository postsCountsRepository;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        boolean requested = args.containsOption(REBUILD_OPTION);
+        boolean empty = postFeedRowRepository.count() == 0 && postRepository.count() > 0;
+
+        if (requested || empty) {
+            postsCountsRepository.recountReplies();
+            postFeedRowRepository.deleteAllRows();
+            postFeedRowRepository.insertFromNormalizedTables();
+        }
+    }
+}
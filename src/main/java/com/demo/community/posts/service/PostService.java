@@ -1,17 +1,34 @@
 package com.demo.community.posts.service;
 
 import com.demo.community.common.dto.ApiResponse;
-import com.demo.community.likes.domain.repository.LikesPostsRepository;
+import com.demo.community.common.paging.KeysetCursor;
+import com.demo.community.common.transaction.AfterCommit;
+import com.demo.community.likes.cache.LikedPostsCache;
+import com.demo.community.posts.cache.HotFeedCache;
+import com.demo.community.posts.cache.HotRankingIndex;
+import com.demo.community.posts.cache.LikeCountAggregator;
+import com.demo.community.posts.cache.PostDetailCache;
+import com.demo.community.posts.cache.ReplyCountAggregator;
+import com.demo.community.posts.cache.UniqueViewerCounter;
+import com.demo.community.posts.cache.ViewCountBuffer;
 import com.demo.community.posts.domain.entity.*;
+import com.demo.community.posts.domain.repository.PostCountSlotRepository;
+import com.demo.community.posts.domain.repository.PostFeedRowRepository;
+import com.demo.community.posts.domain.repository.PostQueryRepository;
 import com.demo.community.posts.domain.repository.PostRepository;
 import com.demo.community.posts.domain.repository.PostViewCountsRepository;
 import com.demo.community.posts.domain.repository.PostsCountsRepository;
 import com.demo.community.posts.domain.repository.PostsImageRepository;
 import com.demo.community.posts.dto.PostRequestDTO;
 import com.demo.community.posts.dto.PostResponseDTO;
+import com.demo.community.posts.events.PostEventHub;
+import com.demo.community.posts.search.PostSearchIndex;
+import com.demo.community.replies.cache.ReplyFirstPageCache;
+import com.demo.community.users.cache.AuthorCache;
 import com.demo.community.users.domain.enitty.QUsers;
 import com.demo.community.users.domain.enitty.Users;
 import com.demo.community.users.domain.repository.UserRepository;
+import com.demo.community.users.dto.AuthorSummary;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -22,12 +39,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -37,10 +58,24 @@ public class PostService {
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final PostsCountsRepository postsCountsRepository;
+    private final PostCountSlotRepository postCountSlotRepository;
     private final PostViewCountsRepository postViewCountsRepository;
     private final PostsImageRepository postsImageRepository;
-    private final LikesPostsRepository likesPostsRepository;
     private final JPAQueryFactory jpaQueryFactory;
+    private final PostQueryRepository postQueryRepository;
+    private final PostFeedRowRepository postFeedRowRepository;
+    private final HotFeedCache hotFeedCache;
+    private final HotRankingIndex hotRankingIndex;
+    private final PostSearchIndex postSearchIndex;
+    private final PostDetailCache postDetailCache;
+    private final ViewCountBuffer viewCountBuffer;
+    private final UniqueViewerCounter uniqueViewerCounter;
+    private final LikedPostsCache likedPostsCache;
+    private final LikeCountAggregator likeCountAggregator;
+    private final ReplyCountAggregator replyCountAggregator;
+    private final ReplyFirstPageCache replyFirstPageCache;
+    private final PostEventHub postEventHub;
+    private final AuthorCache authorCache;
 
     @Transactional
     public PostResponseDTO.PostCreateResponse createPost(PostRequestDTO.PostCreateRequest request, HttpServletRequest req) {
@@ -69,6 +104,25 @@ public class PostService {
         postsCountsRepository.save(postsCounts);
         postViewCountsRepository.save(postViewCounts);
 
+        PostFeedRow postFeedRow = PostFeedRow.builder()
+                .posts(post)
+                .userId(user.getId())
+                .title(post.getTitle())
+                .createdAt(post.getCreatedAt()).build();
+        postFeedRowRepository.save(postFeedRow);
+
+        PostResponseDTO.PostListResponse feedRow = PostResponseDTO.PostListResponse.builder()
+                .postId(post.getId())
+                .title(post.getTitle())
+                .userId(user.getId())
+                .createdAt(post.getCreatedAt()).build();
+        String content = post.getContent();
+        AfterCommit.run(() -> {
+            hotFeedCache.onCreated(feedRow);
+            hotRankingIndex.put(feedRow.getPostId(), feedRow.getCreatedAt(), 0, 0, 0);
+            postSearchIndex.indexPost(feedRow.getPostId(), feedRow.getTitle(), content);
+        });
+
         return PostResponseDTO.PostCreateResponse.builder().postId(post.getId()).build();
     }
 
@@ -86,10 +140,27 @@ public class PostService {
             throw new EntityNotFoundException("delete forbidden user");
         }
 
+        postFeedRowRepository.deleteById(postId);
         postViewCountsRepository.deleteById(postId);
         postsCountsRepository.deleteById(postId);
+        postCountSlotRepository.deleteByPostId(postId);
         postsImageRepository.deleteByPostId(postId);
         postRepository.delete(post);
+
+        AfterCommit.run(() -> {
+            postDetailCache.evict(postId);
+            replyFirstPageCache.evict(postId);
+            hotFeedCache.onDeleted(postId);
+            hotRankingIndex.remove(postId);
+            postSearchIndex.removePost(postId);
+        });
+    }
+
+    public SseEmitter subscribeEvents(Long postId){
+        if (!postRepository.existsById(postId)) {
+            throw new EntityNotFoundException("post not found");
+        }
+        return postEventHub.subscribe(postId);
     }
 
     @Transactional
@@ -100,73 +171,97 @@ public class PostService {
 //        if (session != null) {userId = (Long) session.getAttribute("USER_ID");}
         Long userId = (Long) req.getAttribute("userId");
 
-        QPosts p = QPosts.posts;
-        QUsers u = QUsers.users;
-        QPostsImages pi = QPostsImages.postsImages;
-        QPostsCounts pc = QPostsCounts.postsCounts;
-        QPostViewCounts pv = QPostViewCounts.postViewCounts;
-        //QLike l = QLike.like;
-
-        // likePressed: exists 서브쿼리
-//        BooleanExpression likeExists = JPAExpressions
-//                .selectOne()
-//                .from(l)
-//                .where(l.posts.id.eq(p.id),
-//                        l.user.id.eq(currentUserId))
-//                .exists();
-
-        List<Tuple> rows = jpaQueryFactory
-                .select(
-                        p.id,
-                        p.title,
-                        p.content,
-                        u.nickname,
-                        u.profileImage,
-                        u.id,
-                        pc.likeCounts,
-                        pv.viewCounts,
-                        pc.replyCounts,
-                        pi.imageUrl
-                        //,likeExists
-                )
-                .from(p)
-                .leftJoin(p.user, u)
-                .leftJoin(pc).on(pc.posts.id.eq(p.id))
-                .leftJoin(pv).on(pv.posts.id.eq(p.id))
-                .leftJoin(pi).on(pi.posts.id.eq(p.id))
-                .where(p.id.eq(postId))
-                .fetch();
-
-        if(rows.isEmpty()){
-            // 조회값이 비어있을 때 (존재하지 않는 postId일 때) 오류 반환하는 코드 필요함.
-        }
+        // 제목/본문/이미지는 글 캐시, 작성자 닉네임/이미지는 작성자 캐시, 카운트는 매번 post_feed 에서
+        // (글 존재 여부는 posts 기준. post_feed 행이 빠져 있으면 정규화 테이블에서 계산)
+        PostDetailCache.Entry detail = postDetailCache.get(postId, () -> loadDetail(postId))
+                .orElseThrow(() -> new EntityNotFoundException("post not found"));
+        AuthorSummary author = authorCache.get(detail.userId());
 
-        List<String> imageUrls = rows.stream()
-                .map(t -> t.get(pi.imageUrl))
-                .filter(Objects::nonNull)              // null 제외 (LEFT JOIN일 경우)
-                .toList();
+        QPostFeedRow f = QPostFeedRow.postFeedRow;
+        Tuple row = jpaQueryFactory
+                .select(f.likeCounts, f.replyCounts, f.viewCounts)
+                .from(f)
+                .where(f.id.eq(postId))
+                .fetchOne();
+        int[] counts = row != null
+                ? new int[]{row.get(f.likeCounts), row.get(f.replyCounts), row.get(f.viewCounts)}
+                : normalizedCounts(postId);
 
-        Tuple t = rows.getFirst();
+        // 조회수는 버퍼에만 올리고, 응답에는 DB 값 + 아직 반영 안 된 증분
+        viewCountBuffer.increment(postId);
+        int visit = (int) (counts[2] + viewCountBuffer.pending(postId));
+        long uniqueVisit = uniqueViewerCounter.record(postId, userId);
 
-        boolean likepressed = likesPostsRepository.existsByUsersIdAndPostsId(userId, postId);
+        boolean likepressed = likedPostsCache.isLiked(userId, postId);
 
-        // 이 값이 null 일 때 (존재하지 않는 postId일 때) 오류 반환하는 코드 필요함.
         return PostResponseDTO.PostDetailResponse.builder()
-                .postId(t.get(p.id))
-                .title(t.get(p.title))
-                .content(t.get(p.content))
-                .writer(t.get(u.nickname))
-                .writerImage(t.get(u.profileImage))
+                .postId(detail.postId())
+                .title(detail.title())
+                .content(detail.content())
+                .writer(author == null ? null : author.nickname())
+                .writerImage(author == null ? null : author.profileImage())
                 .count(PostResponseDTO.Count.builder()
-                        .like(t.get(pc.likeCounts))
-                        .reply(t.get(pc.replyCounts))
-                        .visit(t.get(pv.viewCounts)).build())
+                        .like((int) (counts[0] + likeCountAggregator.pending(postId)))
+                        .reply((int) (counts[1] + replyCountAggregator.pending(postId)))
+                        .visit(visit)
+                        .uniqueVisit(uniqueVisit).build())
                 .likePressed(likepressed)
-                .authorization(Objects.equals(t.get(u.id), userId))
-                .images(imageUrls)
+                .authorization(Objects.equals(detail.userId(), userId))
+                .images(detail.images())
                 .build();
     }
 
+    // post_feed 행이 없는 글의 (좋아요, 댓글, 조회) 수. post_feed 재구축과 같은 계산 (posts_counts + 슬롯 합, post_view_counts)
+    private int[] normalizedCounts(Long postId) {
+        QPosts p = QPosts.posts;
+        QPostsCounts pc = QPostsCounts.postsCounts;
+        QPostViewCounts pv = QPostViewCounts.postViewCounts;
+        QPostCountSlot s = QPostCountSlot.postCountSlot;
+
+        Tuple t = jpaQueryFactory
+                .select(pc.likeCounts, pc.replyCounts, pv.viewCounts)
+                .from(p)
+                .leftJoin(pc).on(pc.id.eq(p.id))
+                .leftJoin(pv).on(pv.id.eq(p.id))
+                .where(p.id.eq(postId))
+                .fetchOne();
+        Integer slots = jpaQueryFactory
+                .select(s.likeCounts.sum())
+                .from(s)
+                .where(s.postId.eq(postId))
+                .fetchOne();
+        if (t == null) {return new int[3];}
+        return new int[]{
+                Objects.requireNonNullElse(t.get(pc.likeCounts), 0) + Objects.requireNonNullElse(slots, 0),
+                Objects.requireNonNullElse(t.get(pc.replyCounts), 0),
+                Objects.requireNonNullElse(t.get(pv.viewCounts), 0)};
+    }
+
+    // 상세 캐시 미스 시: 글 한 행, 이미지는 별도 쿼리 (이미지 수만큼 행이 불어나지 않도록)
+    // post_feed 와 조인하지 않음 (post_feed 행이 빠진 글도 상세는 열려야 하므로 posts 만으로)
+    private Optional<PostDetailCache.Entry> loadDetail(Long postId) {
+        QPosts p = QPosts.posts;
+        QPostsImages pi = QPostsImages.postsImages;
+
+        Tuple t = jpaQueryFactory
+                .select(p.id, p.title, p.content, p.user.id)
+                .from(p)
+                .where(p.id.eq(postId))
+                .fetchOne();
+        if (t == null) {return Optional.empty();}
+
+        List<String> imageUrls = jpaQueryFactory
+                .select(pi.imageUrl)
+                .from(pi)
+                .where(pi.posts.id.eq(postId))
+                .orderBy(pi.id.asc())
+                .fetch();
+
+        return Optional.of(new PostDetailCache.Entry(
+                t.get(p.id), t.get(p.title), t.get(p.content), List.copyOf(imageUrls),
+                t.get(p.user.id)));
+    }
+
     @Transactional
     public PostResponseDTO.PostUpdateResponse updatePost(PostRequestDTO.PostUpdateRequest request, Long postId, HttpServletRequest req) {
         Posts post = postRepository.findById(postId)
@@ -183,6 +278,15 @@ public class PostService {
         post.updatePost(request.getTitle(), request.getContent(), request.getImageUrl());
 
         postRepository.flush();
+        postFeedRowRepository.updateTitle(postId, post.getTitle());
+
+        String title = post.getTitle();
+        String content = post.getContent();
+        AfterCommit.run(() -> {
+            postDetailCache.evict(postId);
+            hotFeedCache.onUpdated(postId, title);
+            postSearchIndex.indexPost(postId, title, content);
+        });
 
         return PostResponseDTO.PostUpdateResponse.builder()
                 .postId(post.getId())
@@ -196,44 +300,198 @@ public class PostService {
                 .build();
     }
 
+    // 커서 토큰(cursor)이 있으면 그 방향으로, 없으면 lastSeenId 기준으로 더 오래된 글을 조회
+    // 작성자 닉네임/이미지는 AuthorCache 로, userId 가 있으면 (로그인) 각 글의 좋아요 여부를 메모리 id 집합으로 채움
     @Transactional(readOnly = true)
-    public PostResponseDTO.PostListSliceResponse getListPost(Long cursorId, int size) {
+    public PostResponseDTO.PostListSliceResponse getListPost(Long lastSeenId, String cursor, int size, Long userId) {
 
-        QPosts p = QPosts.posts;
-        QUsers u = QUsers.users;
-        QPostsCounts pc = QPostsCounts.postsCounts;
-        QPostViewCounts pv = QPostViewCounts.postViewCounts;
+        int limit = KeysetCursor.clampSize(size);
+        KeysetCursor c = toCursor(lastSeenId, cursor);
+
+        if (c != null && c.isNewer()) {
+            long from = c.longKey();
+            List<PostResponseDTO.PostListResponse> posts = hotFeedCache.newer(from, limit + 1)
+                    .orElseGet(() -> postQueryRepository.findNewerPostList(from, limit + 1));
+            return newerSlice(decorate(posts, userId), limit, from, postQueryRepository::existsPostBefore);
+        }
+
+        // 최신 페이지들은 대부분 핫 피드 링에서 바로 응답
+        Long cursorId = c == null ? null : c.longKey();
+        List<PostResponseDTO.PostListResponse> posts = hotFeedCache.older(cursorId, limit + 1)
+                .orElseGet(() -> postQueryRepository.findPostList(cursorId, limit + 1));
+        return olderSlice(decorate(posts, userId), limit);
+    }
+
+    // 작성자 정보와 좋아요 여부를 채운 복사본 (핫 피드 링의 행은 여러 요청이 공유하므로 직접 수정하지 않음)
+    // 작성자는 페이지 단위로 한 번에 찾고 캐시에 없는 작성자만 IN 쿼리 한 번으로 채움
+    private List<PostResponseDTO.PostListResponse> decorate(List<PostResponseDTO.PostListResponse> posts, Long userId) {
+        if (posts.isEmpty()) {return posts;}
+
+        Map<Long, AuthorSummary> authors = authorCache.getAll(
+                posts.stream().map(PostResponseDTO.PostListResponse::getUserId).toList());
+        Set<Long> liked = userId == null ? Set.of() : likedPostsCache.likedAmong(userId,
+                posts.stream().map(PostResponseDTO.PostListResponse::getPostId).toList());
+
+        return posts.stream()
+                .map(post -> {
+                    PostResponseDTO.PostListResponse row = post.withAuthor(authors.get(post.getUserId()));
+                    row.setLikePressed(liked.contains(post.getPostId()));
+                    return row;
+                })
+                .toList();
+    }
 
-        List<PostResponseDTO.PostListResponse> posts = jpaQueryFactory
-                    .select(Projections.constructor(PostResponseDTO.PostListResponse.class,
-                            p.id, p.title,
-                            u.nickname, u.profileImage,
-                            pc.likeCounts, pc.replyCounts, pv.viewCounts,
-                            p.createdAt
-                    ))
-                    .from(p)
-                    .leftJoin(p.user, u)
-                    .leftJoin(pc).on(pc.posts.eq(p))
-                    .leftJoin(pv).on(pv.posts.eq(p))
-                    .where(cursorId != null ? p.id.lt(cursorId) : null)
-                    .orderBy(p.id.desc())
-                    .limit(size + 1)
-                    .fetch();
-
-
-        boolean hasNext = posts.size() > size;
+    // 특정 유저가 쓴 글 목록. 커서 의미는 getListPost 와 동일, 좋아요 여부는 보는 사람(viewerId) 기준
+    @Transactional(readOnly = true)
+    public PostResponseDTO.PostListSliceResponse getUserPostList(Long userId, Long lastSeenId, String cursor, int size, Long viewerId) {
+
+        int limit = KeysetCursor.clampSize(size);
+        KeysetCursor c = toCursor(lastSeenId, cursor);
+
+        if (c != null && c.isNewer()) {
+            long from = c.longKey();
+            return newerSlice(decorate(postQueryRepository.findNewerAuthorPostList(userId, from, limit + 1), viewerId), limit, from,
+                    id -> postQueryRepository.existsAuthorPostBefore(userId, id));
+        }
+
+        Long cursorId = c == null ? null : c.longKey();
+        return olderSlice(decorate(postQueryRepository.findAuthorPostList(userId, cursorId, limit + 1), viewerId), limit);
+    }
+
+    private static KeysetCursor toCursor(Long lastSeenId, String cursor) {
+        return cursor != null ? KeysetCursor.decode(cursor)
+                : lastSeenId != null ? KeysetCursor.older(lastSeenId) : null;
+    }
+
+    // posts: id 내림차순, 최대 limit + 1 개
+    private static PostResponseDTO.PostListSliceResponse olderSlice(List<PostResponseDTO.PostListResponse> posts, int limit) {
+
+        boolean hasNext = posts.size() > limit;
         if (hasNext){
-            posts = posts.subList(0, size);
+            posts = posts.subList(0, limit);
         }
 
         Long nextCursor = posts.isEmpty() ? null : posts.getLast().getPostId();
 
-        PostResponseDTO.PostListSliceResponse body = PostResponseDTO.PostListSliceResponse.builder()
+        return PostResponseDTO.PostListSliceResponse.builder()
+                .items(posts)
+                .hasNext(hasNext)
+                .nextCursorId(nextCursor)
+                .nextCursor(hasNext ? KeysetCursor.older(nextCursor).encode() : null)
+                .prevCursor(posts.isEmpty() ? null : KeysetCursor.newer(posts.getFirst().getPostId()).encode())
+                .build();
+    }
+
+    // posts: from 보다 새로운 글 id 내림차순, 최대 limit + 1 개 (맨 앞이 from 에서 가장 먼 글)
+    // hasOlder: 주어진 id 보다 오래된 글이 있는지 (커서 글이 지워졌거나 가장 오래된 글일 수 있으므로 직접 확인)
+    private static PostResponseDTO.PostListSliceResponse newerSlice(List<PostResponseDTO.PostListResponse> posts, int limit, long from,
+                                                                    LongPredicate hasOlder) {
+
+        if (posts.size() > limit){
+            posts = posts.subList(1, posts.size());
+        }
+
+        Long last = posts.isEmpty() ? from : posts.getLast().getPostId();
+        boolean hasNext = hasOlder.test(last);
+        return PostResponseDTO.PostListSliceResponse.builder()
+                .items(posts)
+                .hasNext(hasNext)
+                .nextCursorId(last)
+                .nextCursor(hasNext ? KeysetCursor.older(last).encode() : null)
+                .prevCursor(KeysetCursor.newer(posts.isEmpty() ? from : posts.getFirst().getPostId()).encode())
+                .build();
+    }
+
+    // sort=hot: 인기 점수 순. 커서 키는 마지막 글의 (점수_id), 더 오래된 방향으로만 이동
+    @Transactional(readOnly = true)
+    public PostResponseDTO.PostListSliceResponse getHotListPost(String cursor, int size, Long userId) {
+
+        int limit = KeysetCursor.clampSize(size);
+
+        HotRankingIndex.Entry after = null;
+        if (cursor != null) {
+            KeysetCursor c = KeysetCursor.decode(cursor);
+            String key = c.key();
+            int sep = key.lastIndexOf('_');
+            if (c.isNewer() || sep < 0) {throw new IllegalArgumentException("invalid cursor");}
+            try {
+                after = new HotRankingIndex.Entry(
+                        Double.parseDouble(key.substring(0, sep)), Long.parseLong(key.substring(sep + 1)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid cursor");
+            }
+        }
+
+        List<HotRankingIndex.Entry> ranked = hotRankingIndex.page(after, limit + 1);
+
+        boolean hasNext = ranked.size() > limit;
+        if (hasNext){
+            ranked = ranked.subList(0, limit);
+        }
+
+        List<PostResponseDTO.PostListResponse> posts = loadInOrder(ranked.stream().map(HotRankingIndex.Entry::postId).toList(), userId);
+
+        String nextCursor = hasNext
+                ? KeysetCursor.older(ranked.getLast().score() + "_" + ranked.getLast().postId()).encode()
+                : null;
+
+        return PostResponseDTO.PostListSliceResponse.builder()
+                .items(posts)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor).build();
+    }
+
+    // 제목/본문/댓글 전문 검색. 관련도(BM25) 순, 커서 키는 마지막 글의 (점수_id)
+    @Transactional(readOnly = true)
+    public PostResponseDTO.PostListSliceResponse searchPost(String query, String cursor, int size, Long userId) {
+
+        int limit = KeysetCursor.clampSize(size);
+
+        PostSearchIndex.Hit after = null;
+        if (cursor != null) {
+            KeysetCursor c = KeysetCursor.decode(cursor);
+            String key = c.key();
+            int sep = key.lastIndexOf('_');
+            if (c.isNewer() || sep < 0) {throw new IllegalArgumentException("invalid cursor");}
+            try {
+                after = new PostSearchIndex.Hit(
+                        Double.parseDouble(key.substring(0, sep)), Long.parseLong(key.substring(sep + 1)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid cursor");
+            }
+        }
+
+        List<PostSearchIndex.Hit> hits = postSearchIndex.search(query, after, limit + 1);
+
+        boolean hasNext = hits.size() > limit;
+        if (hasNext){
+            hits = hits.subList(0, limit);
+        }
+
+        List<PostResponseDTO.PostListResponse> posts = loadInOrder(hits.stream().map(PostSearchIndex.Hit::postId).toList(), userId);
+
+        String nextCursor = hasNext
+                ? KeysetCursor.older(hits.getLast().score() + "_" + hits.getLast().postId()).encode()
+                : null;
+
+        return PostResponseDTO.PostListSliceResponse.builder()
                 .items(posts)
                 .hasNext(hasNext)
-                .nextCursorId(nextCursor).build();
+                .nextCursor(nextCursor).build();
+    }
+
+    // postIds 순서 그대로 목록 행을 채움 (post_feed PK IN 조회 한 번). 좋아요 여부는 userId 기준
+    private List<PostResponseDTO.PostListResponse> loadInOrder(List<Long> postIds, Long userId) {
+        if (postIds.isEmpty()) {return List.of();}
+
+        Map<Long, PostResponseDTO.PostListResponse> rows = postQueryRepository.findPostListByIds(postIds)
+                .stream()
+                .collect(Collectors.toMap(PostResponseDTO.PostListResponse::getPostId, r -> r));
 
-        return body;
+        return decorate(postIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList(), userId);
     }
 
 
@@ -0,0 +1,194 @@
+package com.demo.community.replies.cache;
+
+import com.demo.community.common.cache.StripedLruCache;
+import com.demo.community.common.paging.KeysetCursor;
+import com.demo.community.replies.dto.RepliesResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 글별 최신 댓글 첫 페이지 LRU 캐시. 응답 DTO 를 그대로 들고 있다.
+ * <p>
+ * 글마다 최신 댓글 WINDOW 개(없으면 전부)와 그보다 오래된 댓글이 더 있는지(hasMore)를 저장한다.
+ * 창은 항상 "가장 최신 댓글부터 연속된 구간"이므로 창에 없는 댓글은 전부 창보다 오래된 댓글이다.
+ * 작성/수정/삭제는 커밋 후 창에 바로 반영하고, 작성자의 닉네임/프로필이 바뀌면 그 작성자 댓글이 있는 글만 지운다
+ * (작성자 -> 캐시된 글 id 색인으로 찾음).
+ * 적재 도중 그 글(과 같은 버전 조각의 글)이 바뀌거나 작성자 무효화가 끼어들면 읽어온 값은 캐시에서 다시 뺀다.
+ * LRU 는 조각별로만 잠근다 (PostDetailCache 와 같은 방식).
+ */
+@Component
+public class ReplyFirstPageCache {
+
+    private static final int CAPACITY = 1_000;
+    private static final int VERSION_STRIPES = 64;
+    // 최대 페이지 크기보다 하나 더 들고 있어야 최대 크기 첫 페이지의 hasNext 를 캐시만으로 알 수 있음
+    public static final int WINDOW = KeysetCursor.MAX_PAGE_SIZE + 1;
+
+    // items: 최신순 (id 내림차순)
+    public record Page(List<RepliesResponseDTO.ReplyDetailResponse> items, boolean hasMore) {}
+
+    private final StripedLruCache<Long, Page> pages = new StripedLruCache<>(CAPACITY, (postId, page) -> unindex(postId, page));
+    // 작성자 id -> 캐시된 페이지에 그 작성자 댓글이 있는 글 id
+    private final ConcurrentHashMap<Long, Set<Long>> byAuthor = new ConcurrentHashMap<>();
+    // 글 id 조각별 변경 버전 / 작성자 무효화 수 (바꾸거나 지우기 전에 올림)
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLong authorInvalidations = new AtomicLong();
+
+    // 캐시에 없으면 loader 로 읽어서 넣음 (loader 는 최신 WINDOW + 1 개까지 읽어서 hasMore 를 정함)
+    public Page get(Long postId, Supplier<Page> loader) {
+        Page cached = pages.get(postId);
+        if (cached != null) {return cached;}
+
+        int stripe = versionStripe(postId);
+        long before = versions.get(stripe);
+        long authorsBefore = authorInvalidations.get();
+        Page loaded = loader.get();
+        index(postId, authors(loaded));
+        pages.put(postId, loaded);
+        // 읽는 사이 바뀌었으면 방금 넣은 값이 옛 값일 수 있으므로 다시 뺌
+        if (versions.get(stripe) != before || authorInvalidations.get() != authorsBefore) {
+            remove(postId);
+        }
+        return loaded;
+    }
+
+    // 새 댓글은 창의 id 순서 자리에 넣고, 넘치면 가장 오래된 것을 밀어냄
+    public void onCreated(Long postId, RepliesResponseDTO.ReplyDetailResponse reply) {
+        modify(postId, page -> {
+            List<RepliesResponseDTO.ReplyDetailResponse> items = new ArrayList<>(page.items().size() + 1);
+            boolean inserted = false;
+            for (RepliesResponseDTO.ReplyDetailResponse item : page.items()) {
+                if (!inserted && item.getId() < reply.getId()) {
+                    items.add(reply);
+                    inserted = true;
+                }
+                items.add(item);
+            }
+            if (!inserted) {
+                // 창보다 오래된 댓글이 남아 있으면 창 끝 뒤의 자리는 알 수 없음
+                if (page.hasMore()) {return page;}
+                items.add(reply);
+            }
+            boolean hasMore = page.hasMore();
+            if (items.size() > WINDOW) {
+                items.removeLast();
+                hasMore = true;
+            }
+            return new Page(List.copyOf(items), hasMore);
+        });
+    }
+
+    public void onUpdated(Long postId, Long replyId, String content) {
+        modify(postId, page -> replace(page, item -> Objects.equals(item.getId(), replyId),
+                item -> item.toBuilder().content(content).build()));
+    }
+
+    // 답글이 있어서 행은 남고 내용/작성자만 비운 댓글
+    public void onBlanked(Long postId, Long replyId) {
+        modify(postId, page -> replace(page, item -> Objects.equals(item.getId(), replyId),
+                item -> item.toBuilder().content("").userId(null).nickname(null).profileImg(null).build()));
+    }
+
+    // 창에서 빠지면 그만큼 짧아진 창이 됨 (창 밖 댓글을 당겨오지는 않음)
+    public void onDeleted(Long postId, Long replyId) {
+        modify(postId, page -> replace(page, item -> Objects.equals(item.getId(), replyId), item -> null));
+    }
+
+    public void evict(Long postId) {
+        versions.incrementAndGet(versionStripe(postId));
+        remove(postId);
+    }
+
+    public void evictByAuthor(Long userId) {
+        authorInvalidations.incrementAndGet();
+        Set<Long> postIds = byAuthor.remove(userId);
+        if (postIds == null) {return;}
+        for (Long postId : postIds) {
+            remove(postId);
+        }
+    }
+
+    private void modify(Long postId, UnaryOperator<Page> change) {
+        versions.incrementAndGet(versionStripe(postId));
+        pages.computeIfPresent(postId, page -> {
+            Page next = change.apply(page);
+            if (next != page) {
+                Set<Long> before = authors(page);
+                Set<Long> after = authors(next);
+                Set<Long> added = new HashSet<>(after);
+                added.removeAll(before);
+                before.removeAll(after);
+                index(postId, added);
+                unindexAuthors(postId, before);
+            }
+            return next;
+        });
+    }
+
+    private void remove(Long postId) {
+        Page removed = pages.remove(postId);
+        if (removed != null) {unindex(postId, removed);}
+    }
+
+    private void index(Long postId, Set<Long> userIds) {
+        for (Long userId : userIds) {
+            byAuthor.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(postId);
+        }
+    }
+
+    private void unindex(Long postId, Page page) {
+        unindexAuthors(postId, authors(page));
+    }
+
+    private void unindexAuthors(Long postId, Set<Long> userIds) {
+        for (Long userId : userIds) {
+            byAuthor.computeIfPresent(userId, (id, postIds) -> {
+                postIds.remove(postId);
+                return postIds.isEmpty() ? null : postIds;
+            });
+        }
+    }
+
+    private static Set<Long> authors(Page page) {
+        Set<Long> userIds = new HashSet<>();
+        for (RepliesResponseDTO.ReplyDetailResponse item : page.items()) {
+            if (item.getUserId() != null) {userIds.add(item.getUserId());}
+        }
+        return userIds;
+    }
+
+    private static int versionStripe(Long postId) {
+        int h = postId.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), VERSION_STRIPES);
+    }
+
+    // 조건에 맞는 항목을 바꾼 새 Page (mapper 가 null 이면 제거). 맞는 항목이 없으면 그대로
+    private static Page replace(Page page,
+                                Predicate<RepliesResponseDTO.ReplyDetailResponse> match,
+                                Function<RepliesResponseDTO.ReplyDetailResponse, RepliesResponseDTO.ReplyDetailResponse> mapper) {
+        List<RepliesResponseDTO.ReplyDetailResponse> items = new ArrayList<>(page.items().size());
+        boolean changed = false;
+        for (RepliesResponseDTO.ReplyDetailResponse item : page.items()) {
+            if (!changed && match.test(item)) {
+                changed = true;
+                RepliesResponseDTO.ReplyDetailResponse mapped = mapper.apply(item);
+                if (mapped != null) {items.add(mapped);}
+            } else {
+                items.add(item);
+            }
+        }
+        return changed ? new Page(List.copyOf(items), page.hasMore()) : page;
+    }
+}
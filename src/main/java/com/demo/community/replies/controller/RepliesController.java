@@ -28,13 +28,38 @@ public class RepliesController {
     public ResponseEntity<ApiResponse<RepliesResponseDTO.ReplyListSliceResponse>> getRepliesList(
             @PathVariable("postId") Long postId,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) Long lastSeenId
+            @RequestParam(required = false) Long lastSeenId,
+            @RequestParam(required = false) String cursor
     ){
-        RepliesResponseDTO.ReplyListSliceResponse result = repliesService.getReplyList(postId, lastSeenId, size);
+        RepliesResponseDTO.ReplyListSliceResponse result = repliesService.getReplyList(postId, lastSeenId, cursor, size);
 
         return ResponseEntity.ok(new ApiResponse<>("reply list successfully loaded", result));
     }
 
+    // 최상위 댓글 최신순 + 각 댓글의 앞쪽 답글 children 개 (화면 순서, depth/parentId 로 트리 구성)
+    @GetMapping("/{postId}/threads")
+    public ResponseEntity<ApiResponse<RepliesResponseDTO.ReplyListSliceResponse>> getThreadList(
+            @PathVariable("postId") Long postId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "3") int children,
+            @RequestParam(required = false) String cursor
+    ){
+        RepliesResponseDTO.ReplyListSliceResponse result = repliesService.getThreadList(postId, cursor, size, children);
+
+        return ResponseEntity.ok(new ApiResponse<>("reply threads successfully loaded", result));
+    }
+
+    @GetMapping("/{replyId}/subtree")
+    public ResponseEntity<ApiResponse<RepliesResponseDTO.ReplyListSliceResponse>> getSubtree(
+            @PathVariable("replyId") Long replyId,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor
+    ){
+        RepliesResponseDTO.ReplyListSliceResponse result = repliesService.getSubtree(replyId, cursor, size);
+
+        return ResponseEntity.ok(new ApiResponse<>("reply subtree successfully loaded", result));
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<RepliesResponseDTO.ReplyDetailResponse>> createReply(
             @RequestBody @Valid RepliesRequestDTO.ReplyCreateRequest request,
@@ -1,28 +1,36 @@
 package com.demo.community.replies.domain.entity;
 
 import com.demo.community.common.domain.entity.BaseEntity;
+import com.demo.community.common.id.SnowflakeId;
 import com.demo.community.posts.domain.entity.Posts;
 import com.demo.community.users.domain.enitty.Users;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_replies_post_cursor", columnList = "post_id, id"),
+        @Index(name = "idx_replies_post_path", columnList = "post_id, path"),
+        @Index(name = "idx_replies_post_depth_path", columnList = "post_id, depth, path")
+})
 public class Replies extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Lob
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = true)
     private Users users;
 
@@ -30,4 +38,40 @@ public class Replies extends BaseEntity {
     @JoinColumn(name = "post_id", nullable = false)
     private Posts posts;
 
+    // 답글이면 부모 댓글 id, 최상위 댓글이면 null (FK 없이 값만 둬서 서브트리를 한 문장으로 지울 수 있게 함)
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int depth = 0;
+
+    // 부모 아래에서 몇 번째로 달린 답글인지 (1부터, 최상위 댓글은 0)
+    @Column(nullable = false)
+    @Builder.Default
+    private int seq = 0;
+
+    // 지금까지 달린 직계 답글 수 = 마지막으로 준 seq (삭제돼도 줄지 않음)
+    @Column(nullable = false)
+    @Builder.Default
+    private int childSeq = 0;
+
+    // 정렬 키 (ReplyPath). 최상위 댓글은 id 가 정해진 뒤에 채움
+    @Column(nullable = false, length = 160)
+    @Builder.Default
+    private String path = "";
+
+    // 답글이 달린 댓글을 지우면 행은 남기고 내용/작성자만 비움 (다른 사람 답글까지 지우지 않도록)
+    private LocalDateTime deletedAt;
+
+    public void blank() {
+        this.content = "";
+        this.users = null;
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
 }
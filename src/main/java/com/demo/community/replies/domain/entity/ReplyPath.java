@@ -0,0 +1,44 @@
+package com.demo.community.replies.domain.entity;
+
+/**
+ * 댓글 정렬 키 (materialized path) 계산.
+ * <p>
+ * 경로는 깊이마다 16자리 대문자 16진수 세그먼트를 이어붙인 문자열이다.
+ * 최상위 댓글 세그먼트는 (Long.MAX_VALUE - id) 라서 경로 오름차순 = 최상위 댓글 최신순이 되고,
+ * 답글 세그먼트는 부모 아래 순번(seq) 이라서 같은 부모의 답글은 달린 순서대로 온다.
+ * 그래서 (post_id, path) 인덱스를 경로 순서로 읽기만 하면 스레드가 화면 순서 그대로 나오고,
+ * 한 댓글의 서브트리는 [path, successor(path)) 범위 하나가 된다.
+ */
+public final class ReplyPath {
+
+    public static final int SEGMENT_LENGTH = 16;
+    // 최상위 댓글이 깊이 0. 경로 길이가 (MAX_DEPTH + 1) * 16 을 넘지 않게 제한
+    public static final int MAX_DEPTH = 8;
+
+    private ReplyPath() {}
+
+    public static String root(long replyId) {
+        return segment(Long.MAX_VALUE - replyId);
+    }
+
+    public static String child(String parentPath, long seq) {
+        return parentPath + segment(seq);
+    }
+
+    // path 로 시작하는 모든 경로보다 크고, 그 밖의 경로 중 path 보다 큰 것보다는 작거나 같은 최소 문자열.
+    // 마지막 글자만 다음 글자로 올림 ('9' 다음은 'A' 로 해서 대소문자 무시 콜레이션에서도 순서가 같음)
+    public static String successor(String path) {
+        char last = path.charAt(path.length() - 1);
+        char next = last == '9' ? 'A' : (char) (last + 1);
+        return path.substring(0, path.length() - 1) + next;
+    }
+
+    // path 다음 페이지의 시작점 (path 자신은 빼고 그 서브트리부터)
+    public static String after(String path) {
+        return path + "0";
+    }
+
+    private static String segment(long value) {
+        return String.format("%016X", value);
+    }
+}
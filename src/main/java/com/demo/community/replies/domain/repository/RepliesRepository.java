@@ -1,30 +1,92 @@
 package com.demo.community.replies.domain.repository;
 
 import com.demo.community.replies.domain.entity.Replies;
+import com.demo.community.replies.dto.ReplyRow;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RepliesRepository extends JpaRepository<Replies, Long> {
+    // 목록 조회는 엔티티 대신 ReplyRow 로 바로 읽음 (작성자는 users FK 값만, 닉네임/이미지는 AuthorLookup 에서)
+    // (post_id, id) 인덱스 범위를 정렬 없이 읽도록 정렬도 인덱스 순서 그대로 (post_id 는 등치 조건이라 순서에 영향 없음).
+    // content 가 TEXT 라 인덱스에 넣을 수 없어서 커버링 인덱스는 아님 (페이지의 행마다 PK 로 한 번 더 읽음)
+    // 첫 페이지는 cursorId 에 Long.MAX_VALUE 를 넘김
     @Query("""
-        select r
+        select new com.demo.community.replies.dto.ReplyRow(
+            r.id, r.users.id, r.content, r.createdAt, r.parentId, r.depth, r.path)
         from Replies r
-        join fetch r.users u
         where r.posts.id = :postId
-          and (:cursorId is null or r.id < :cursorId)
-        order by r.id desc
+          and r.id < :cursorId
+        order by r.posts.id desc, r.id desc
     """)
-    List<Replies> findSliceByPostId(@Param("postId") Long postId,
+    List<ReplyRow> findSliceByPostId(@Param("postId") Long postId,
                                     @Param("cursorId") Long cursorId,
                                     Pageable pageable);
 
+    // cursorId 보다 새로운 댓글 중 가까운 것부터 (오름차순)
+    @Query("""
+        select new com.demo.community.replies.dto.ReplyRow(
+            r.id, r.users.id, r.content, r.createdAt, r.parentId, r.depth, r.path)
+        from Replies r
+        where r.posts.id = :postId
+          and r.id > :cursorId
+        order by r.posts.id asc, r.id asc
+    """)
+    List<ReplyRow> findNewerSliceByPostId(@Param("postId") Long postId,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable pageable);
+
+    // 새로운 방향 페이지의 hasNext: cursorId 보다 오래된 댓글이 있는지 ((post_id, id) 인덱스에서 한 행만 확인)
+    boolean existsByPostsIdAndIdLessThan(Long postId, Long cursorId);
+
+    // 탈퇴 처리용: 유저의 댓글 id 를 limit 개씩 (user_id 인덱스 범위)
+    @Query("select r.id from Replies r where r.users.id = :userId order by r.id asc")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
     @Modifying
-    @Query("update Replies r set r.users = null where r.users.id = :userId")
-    int nullifyUserReferences(@Param("userId") Long userId);
+    @Query("update Replies r set r.users = null where r.id in :ids")
+    int nullifyUserReferences(@Param("ids") Collection<Long> ids);
+
+    // --- 스레드 (materialized path) ---
+
+    // [fromPath, toPath) 경로 범위 (서브트리) 를 경로 순서로
+    @Query("""
+        select new com.demo.community.replies.dto.ReplyRow(
+            r.id, r.users.id, r.content, r.createdAt, r.parentId, r.depth, r.path)
+        from Replies r
+        where r.posts.id = :postId
+          and r.path >= :fromPath
+          and r.path < :toPath
+        order by r.posts.id asc, r.path asc
+    """)
+    List<ReplyRow> findPathRange(@Param("postId") Long postId,
+                                @Param("fromPath") String fromPath,
+                                @Param("toPath") String toPath,
+                                Pageable pageable);
+
+    // 삭제 처리용: 행 락을 잡고 읽음 (답글 작성의 incrementChildSeq 와 순서가 정해지도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Replies r where r.id = :replyId")
+    Optional<Replies> findByIdForUpdate(@Param("replyId") Long replyId);
+
+    // 답글 순번 발급. 같은 트랜잭션 안에서 findChildSeq 로 올린 값을 읽음 (부모 행 락은 커밋까지 유지)
+    @Modifying(flushAutomatically = true)
+    @Query("update Replies r set r.childSeq = r.childSeq + 1 where r.id = :replyId")
+    int incrementChildSeq(@Param("replyId") Long replyId);
+
+    @Query("select r.childSeq from Replies r where r.id = :replyId")
+    int findChildSeq(@Param("replyId") Long replyId);
+
+    // 경로가 비어있는 (스레드 도입 전) 댓글
+    List<Replies> findTop500ByPathOrderByIdAsc(String path);
 }
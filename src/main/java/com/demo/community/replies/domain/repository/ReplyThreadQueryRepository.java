@@ -0,0 +1,58 @@
+package com.demo.community.replies.domain.repository;
+
+import com.demo.community.replies.dto.ReplyRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// 스레드 페이지 조회 (CTE + 윈도 함수라 Spring Data @Query 대신 Hibernate HQL 로 직접 실행)
+@Repository
+public class ReplyThreadQueryRepository {
+
+    // roots: fromPath 부터 최상위 댓글 rootLimit 개의 경로.
+    // thread: 그 최상위 댓글들의 경로 범위 [fromPath, 마지막 최상위 경로 + 'G') 안의 깊이 0/1 행에
+    //   부모별 경로 순번을 붙임. 답글 경로 = 부모 경로 + 16진수 세그먼트라서 이 범위의 깊이 1 행은 전부 roots 의 답글이고,
+    //   'G' 는 16진수 글자보다 뒤라서 마지막 최상위 댓글의 답글까지 들어감.
+    // 지워진 답글 순번 자리를 건너뛰고 실제로 남아 있는 먼저 달린 답글 children 개를 고름
+    private static final String THREAD_PAGE = """
+        with roots as (
+            select r.path as path
+            from Replies r
+            where r.posts.id = :postId
+              and r.depth = 0
+              and r.path >= :fromPath
+            order by r.path
+            limit :rootLimit
+        ),
+        thread as (
+            select r.id as id, r.depth as depth,
+                   row_number() over (partition by r.parentId order by r.path) as rn
+            from Replies r
+            where r.posts.id = :postId
+              and r.depth in (0, 1)
+              and r.path >= :fromPath
+              and r.path < (select concat(max(x.path), 'G') from roots x)
+        )
+        select new com.demo.community.replies.dto.ReplyRow(
+            r.id, r.users.id, r.content, r.createdAt, r.parentId, r.depth, r.path)
+        from thread t
+        join Replies r on r.id = t.id
+        where t.depth = 0 or t.rn <= :children
+        order by r.path
+        """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 최상위 댓글 rootLimit 개와 각각의 먼저 달린 직계 답글 children 개까지, 경로 순서 (= 화면 순서) 로. 쿼리 한 번
+    public List<ReplyRow> findThreadPage(Long postId, String fromPath, int rootLimit, int children) {
+        return entityManager.createQuery(THREAD_PAGE, ReplyRow.class)
+                .setParameter("postId", postId)
+                .setParameter("fromPath", fromPath)
+                .setParameter("rootLimit", rootLimit)
+                .setParameter("children", (long) children)
+                .getResultList();
+    }
+}
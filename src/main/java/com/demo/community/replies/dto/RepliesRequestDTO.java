@@ -14,6 +14,8 @@ public class RepliesRequestDTO {
     public static class ReplyCreateRequest{
         private Long postId;
         private String content;
+        // 답글이면 부모 댓글 id
+        private Long parentId;
     }
 
     @Builder
@@ -8,7 +8,7 @@ import java.util.List;
 
 public class RepliesResponseDTO {
 
-    @Builder
+    @Builder(toBuilder = true)
     @AllArgsConstructor
     @NoArgsConstructor
     @Getter
@@ -21,6 +21,8 @@ public class RepliesResponseDTO {
         private String profileImg;
         private Long id;
         private Long userId;
+        private Long parentId;
+        private int depth;
     }
 
     @Builder
@@ -32,6 +34,9 @@ public class RepliesResponseDTO {
         private List<RepliesResponseDTO.ReplyDetailResponse> items;
         private boolean hasNext;
         private Long nextCursorId;
+        // 불투명 커서 토큰. nextCursor: 더 오래된(다음) 페이지, prevCursor: 더 새로운 페이지
+        private String nextCursor;
+        private String prevCursor;
     }
 
 }
@@ -0,0 +1,7 @@
+package com.demo.community.replies.dto;
+
+import java.time.LocalDateTime;
+
+// 댓글 목록 조회용 projection (엔티티/작성자 없이 댓글 컬럼만). 작성자 정보는 AuthorLookup 으로 한 번에 채움
+public record ReplyRow(Long id, Long userId, String content, LocalDateTime createdAt,
+                       Long parentId, int depth, String path) {}
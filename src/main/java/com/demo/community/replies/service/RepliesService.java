@@ -1,13 +1,23 @@
 package com.demo.community.replies.service;
 
+import com.demo.community.common.paging.KeysetCursor;
+import com.demo.community.common.transaction.AfterCommit;
+import com.demo.community.posts.cache.ReplyCountAggregator;
 import com.demo.community.posts.domain.entity.Posts;
 import com.demo.community.posts.domain.repository.PostRepository;
+import com.demo.community.posts.events.PostEventHub;
+import com.demo.community.posts.search.PostSearchIndex;
+import com.demo.community.replies.cache.ReplyFirstPageCache;
 import com.demo.community.replies.domain.entity.Replies;
+import com.demo.community.replies.domain.entity.ReplyPath;
 import com.demo.community.replies.domain.repository.RepliesRepository;
+import com.demo.community.replies.domain.repository.ReplyThreadQueryRepository;
 import com.demo.community.replies.dto.RepliesRequestDTO;
 import com.demo.community.replies.dto.RepliesResponseDTO;
-import com.demo.community.users.domain.enitty.Users;
+import com.demo.community.replies.dto.ReplyRow;
+import com.demo.community.users.cache.AuthorCache;
 import com.demo.community.users.domain.repository.UserRepository;
+import com.demo.community.users.dto.AuthorSummary;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -19,6 +29,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -27,33 +38,124 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class RepliesService {
 
+    // 스레드 목록에서 최상위 댓글마다 같이 내려주는 답글 수 상한
+    private static final int MAX_THREAD_CHILDREN = 10;
+
     private final RepliesRepository repliesRepository;
+    private final ReplyThreadQueryRepository replyThreadQueryRepository;
     private final UserRepository userRepository;
     private final PostRepository postRepository;
+    private final ReplyCountAggregator replyCountAggregator;
+    private final ReplyFirstPageCache replyFirstPageCache;
+    private final PostSearchIndex postSearchIndex;
+    private final AuthorCache authorCache;
+    private final PostEventHub postEventHub;
 
     @Transactional(readOnly = true)
-    public RepliesResponseDTO.ReplyListSliceResponse getReplyList(Long postId, Long lastSeenId, int size){
+    public RepliesResponseDTO.ReplyListSliceResponse getReplyList(Long postId, Long lastSeenId, String cursor, int size){
 
-        List<Replies> replies = repliesRepository.findSliceByPostId(postId, lastSeenId, PageRequest.of(0, size + 1));
+        int limit = KeysetCursor.clampSize(size);
+        KeysetCursor c = cursor != null ? KeysetCursor.decode(cursor)
+                : lastSeenId != null ? KeysetCursor.older(lastSeenId) : null;
 
-        boolean hasNext = replies.size() > size;
-        if (hasNext){
-            replies = replies.subList(0, size);
+        List<RepliesResponseDTO.ReplyDetailResponse> items = null;
+        boolean hasNext = false;
+        boolean newer = c != null && c.isNewer();
+        if (c == null) {
+            // 첫 페이지는 글별 캐시에서. 캐시 창이 요청 크기를 못 채우고 더 오래된 댓글이 있으면 DB 로
+            ReplyFirstPageCache.Page page = replyFirstPageCache.get(postId, () -> loadFirstPage(postId));
+            if (page.items().size() > limit || !page.hasMore()) {
+                hasNext = page.items().size() > limit;
+                items = hasNext ? page.items().subList(0, limit) : page.items();
+            }
+        }
+        if (items == null && newer) {
+            List<ReplyRow> replies = repliesRepository.findNewerSliceByPostId(postId, c.longKey(), PageRequest.of(0, limit + 1));
+            if (replies.size() > limit){
+                replies = replies.subList(0, limit);
+            }
+            items = toDetails(replies.reversed());
+            // 커서 댓글이 지워졌거나 가장 오래된 댓글이었을 수 있으므로 더 오래된 댓글이 있는지 직접 확인
+            long last = items.isEmpty() ? c.longKey() : items.getLast().getId();
+            hasNext = repliesRepository.existsByPostsIdAndIdLessThan(postId, last);
+        } else if (items == null) {
+            Long cursorId = c == null ? Long.MAX_VALUE : c.longKey();
+            List<ReplyRow> replies = repliesRepository.findSliceByPostId(postId, cursorId, PageRequest.of(0, limit + 1));
+            hasNext = replies.size() > limit;
+            if (hasNext){
+                replies = replies.subList(0, limit);
+            }
+            items = toDetails(replies);
         }
 
-        Long nextCursor = replies.isEmpty() ? null : replies.getLast().getId();
+        Long nextCursor = items.isEmpty() ? (newer ? c.longKey() : null) : items.getLast().getId();
+        Long prevCursor = items.isEmpty() ? (newer ? c.longKey() : null) : items.getFirst().getId();
+
+        return RepliesResponseDTO.ReplyListSliceResponse.builder()
+                .items(items)
+                .hasNext(hasNext)
+                .nextCursorId(nextCursor)
+                .nextCursor(hasNext && nextCursor != null ? KeysetCursor.older(nextCursor).encode() : null)
+                .prevCursor(prevCursor != null ? KeysetCursor.newer(prevCursor).encode() : null)
+                .build();
+    }
+
+    // 스레드 페이지: 최상위 댓글 최신순 size 개, 각각 아래에 먼저 달린 (남아 있는) 직계 답글 children 개까지.
+    // 최상위 댓글 범위와 그 답글을 경로 범위 쿼리 한 번으로 읽음 (ReplyThreadQueryRepository).
+    // 커서는 마지막 최상위 댓글 id (더 오래된 쪽으로만 넘김)
+    @Transactional(readOnly = true)
+    public RepliesResponseDTO.ReplyListSliceResponse getThreadList(Long postId, String cursor, int size, int children){
 
-        List<RepliesResponseDTO.ReplyDetailResponse> result = replies.stream().map(
-                reply -> RepliesResponseDTO.ReplyDetailResponse.builder()
-                        .id(reply.getId())
-                        .userId(reply.getUsers().getId())
-                        .content(reply.getContent())
-                        .createdAt(reply.getCreatedAt())
-                        .nickname(reply.getUsers().getNickname())
-                        .profileImg(reply.getUsers().getProfileImage())
-                        .build()).toList();
+        int limit = KeysetCursor.clampSize(size);
+        int k = Math.max(0, Math.min(children, MAX_THREAD_CHILDREN));
+        KeysetCursor c = cursor != null ? KeysetCursor.decode(cursor) : null;
+        if (c != null && c.isNewer()) {throw new IllegalArgumentException("invalid cursor");}
+        String fromPath = c == null ? "" : ReplyPath.successor(ReplyPath.root(c.longKey()));
 
-        return new RepliesResponseDTO.ReplyListSliceResponse(result, hasNext, nextCursor);
+        // hasNext 확인용으로 최상위 댓글을 하나 더 읽음. 경로 순서라 그 댓글과 답글은 맨 뒤에 있음
+        List<ReplyRow> page = replyThreadQueryRepository.findThreadPage(postId, fromPath, limit + 1, k);
+        List<ReplyRow> roots = page.stream().filter(row -> row.depth() == 0).toList();
+        boolean hasNext = roots.size() > limit;
+        if (hasNext) {
+            page = page.subList(0, page.indexOf(roots.getLast()));
+            roots = roots.subList(0, limit);
+        }
+        Long lastRootId = roots.isEmpty() ? null : roots.getLast().id();
+
+        return RepliesResponseDTO.ReplyListSliceResponse.builder()
+                .items(toDetails(page))
+                .hasNext(hasNext)
+                .nextCursorId(lastRootId)
+                .nextCursor(hasNext ? KeysetCursor.older(lastRootId).encode() : null)
+                .build();
+    }
+
+    // 댓글 하나와 그 아래 답글 전체를 화면 순서로 (경로 범위 [path, successor(path)) 를 페이지 단위로 읽음)
+    @Transactional(readOnly = true)
+    public RepliesResponseDTO.ReplyListSliceResponse getSubtree(Long replyId, String cursor, int size){
+
+        Replies root = repliesRepository.findById(replyId)
+                .orElseThrow(() -> new EntityNotFoundException("reply not found"));
+
+        int limit = KeysetCursor.clampSize(size);
+        KeysetCursor c = cursor != null ? KeysetCursor.decode(cursor) : null;
+        if (c != null && c.isNewer()) {throw new IllegalArgumentException("invalid cursor");}
+        String fromPath = c == null ? root.getPath() : ReplyPath.after(c.key());
+        if (!fromPath.startsWith(root.getPath())) {throw new IllegalArgumentException("invalid cursor");}
+
+        List<ReplyRow> rows = repliesRepository.findPathRange(root.getPosts().getId(),
+                fromPath, ReplyPath.successor(root.getPath()), PageRequest.of(0, limit + 1));
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit);
+        }
+
+        return RepliesResponseDTO.ReplyListSliceResponse.builder()
+                .items(toDetails(rows))
+                .hasNext(hasNext)
+                .nextCursorId(rows.isEmpty() ? null : rows.getLast().id())
+                .nextCursor(hasNext ? KeysetCursor.older(rows.getLast().path()).encode() : null)
+                .build();
     }
 
     @Transactional
@@ -63,27 +165,60 @@ public class RepliesService {
 //        Long userId = (Long) session.getAttribute("USER_ID");
         Long userId = (Long) req.getAttribute("userId");
 
-        Optional<Users> user = userRepository.findById(userId);
-        if(user.isEmpty()){throw new EntityNotFoundException("user not found");}
+        // 작성자 확인과 응답의 닉네임/이미지는 작성자 캐시로 (users 행은 FK 참조만 필요)
+        AuthorSummary author = authorCache.get(userId);
+        if(author == null){throw new EntityNotFoundException("user not found");}
 
         Optional<Posts> post = postRepository.findById(request.getPostId());
         if(post.isEmpty()){throw new EntityNotFoundException("post not found");}
 
-        Replies reply = Replies.builder()
+        Replies.RepliesBuilder builder = Replies.builder()
                 .posts(post.get())
                 .content(request.getContent())
-                .users(user.get()).build();
+                .users(userRepository.getReferenceById(userId));
 
+        // 답글이면 부모 경로 + 부모 아래 순번으로 경로를 바로 정함
+        if (request.getParentId() != null) {
+            Replies parent = repliesRepository.findById(request.getParentId())
+                    .orElseThrow(() -> new EntityNotFoundException("parent reply not found"));
+            if (!Objects.equals(parent.getPosts().getId(), request.getPostId())) {
+                throw new IllegalArgumentException("parent reply belongs to another post");
+            }
+            if (parent.isDeleted()) {
+                throw new IllegalArgumentException("parent reply was deleted");
+            }
+            if (parent.getDepth() >= ReplyPath.MAX_DEPTH) {
+                throw new IllegalArgumentException("reply depth limit exceeded");
+            }
+            repliesRepository.incrementChildSeq(parent.getId());
+            int seq = repliesRepository.findChildSeq(parent.getId());
+            builder.parentId(parent.getId())
+                    .depth(parent.getDepth() + 1)
+                    .seq(seq)
+                    .path(ReplyPath.child(parent.getPath(), seq));
+        }
+
+        Replies reply = builder.build();
         repliesRepository.save(reply);
+        // 최상위 댓글 경로는 id 로 정해짐. id 는 save 때 발급되고 insert 는 flush 때 나가므로 insert 한 번에 같이 들어감
+        if (reply.getParentId() == null) {
+            reply.setPath(ReplyPath.root(reply.getId()));
+        }
         repliesRepository.flush();
 
-        return RepliesResponseDTO.ReplyDetailResponse.builder()
-                .id(reply.getId())
-                .userId(reply.getUsers().getId())
-                .createdAt(reply.getCreatedAt())
-                .nickname(reply.getUsers().getNickname())
-                .profileImg(reply.getUsers().getProfileImage())
-                .content(reply.getContent()).build();
+        // 댓글 수는 커밋 후 집계기에만 더함 (posts_counts / post_feed 반영은 주기적으로 한 번에)
+        Long postId = request.getPostId();
+        Long replyId = reply.getId();
+        String content = reply.getContent();
+        RepliesResponseDTO.ReplyDetailResponse cached = toDetail(reply, author);
+        AfterCommit.run(() -> {
+            replyCountAggregator.add(postId, 1);
+            replyFirstPageCache.onCreated(postId, cached);
+            postEventHub.replyCreated(postId, cached);
+            postSearchIndex.indexReply(postId, replyId, content);
+        });
+
+        return toDetail(reply, author);
     }
 
     @Transactional
@@ -97,38 +232,108 @@ public class RepliesService {
 //        HttpSession session = req.getSession(false);
 //        Long userId = (Long) session.getAttribute("USER_ID");
         Long userId = (Long) req.getAttribute("userId");
-        if (!Objects.equals(userId, gotReply.getUsers().getId())){
+        if (gotReply.getUsers() == null || !Objects.equals(userId, gotReply.getUsers().getId())){
             throw new AccessDeniedException("forbidden user (not a writer)");
         }
 
         gotReply.setContent(request.getContent());
         repliesRepository.flush();
 
-        return RepliesResponseDTO.ReplyDetailResponse.builder()
-                .id(gotReply.getId())
-                .content(gotReply.getContent())
-                .createdAt(gotReply.getCreatedAt())
-                .updatedAt(gotReply.getUpdatedAt())
-                .userId(gotReply.getUsers().getId())
-                .nickname(gotReply.getUsers().getNickname())
-                .profileImg(gotReply.getUsers().getProfileImage()).build();
+        Long postId = gotReply.getPosts().getId();
+        String content = gotReply.getContent();
+        RepliesResponseDTO.ReplyDetailResponse updated = toDetail(gotReply, authorCache.get(userId)).toBuilder()
+                .updatedAt(gotReply.getUpdatedAt()).build();
+        AfterCommit.run(() -> {
+            replyFirstPageCache.onUpdated(postId, replyId, content);
+            postSearchIndex.indexReply(postId, replyId, content);
+            postEventHub.replyUpdated(postId, updated);
+        });
+
+        return updated;
     }
 
     @Transactional
     public void deleteReply(Long replyId, HttpServletRequest req){
 
-        Optional<Replies> reply = repliesRepository.findById(replyId);
-        if(reply.isEmpty()){throw new EntityNotFoundException("post not found");}
+        Optional<Replies> reply = repliesRepository.findByIdForUpdate(replyId);
+        if(reply.isEmpty() || reply.get().isDeleted()){throw new EntityNotFoundException("post not found");}
+        Replies gotReply = reply.get();
 
         // 인가
 //        HttpSession session = req.getSession(false);
 //        Long userId = (Long) session.getAttribute("USER_ID");
         Long userId = (Long) req.getAttribute("userId");
-        if (!reply.get().getUsers().getId().equals(userId)){
+        if (gotReply.getUsers() == null || !gotReply.getUsers().getId().equals(userId)){
             throw new EntityNotFoundException("delete forbidden user");
         }
 
-        repliesRepository.deleteById(replyId);
+        Long postId = gotReply.getPosts().getId();
+        String path = gotReply.getPath();
+        boolean hasChildren = !repliesRepository.findPathRange(
+                postId, ReplyPath.after(path), ReplyPath.successor(path), PageRequest.of(0, 1)).isEmpty();
+
+        if (hasChildren) {
+            // 답글(다른 사람 것일 수 있음)은 그대로 두고 이 댓글만 비움. 행이 남으므로 댓글 수는 그대로
+            gotReply.blank();
+            repliesRepository.flush();
+            RepliesResponseDTO.ReplyDetailResponse blanked = toDetail(gotReply, null);
+            AfterCommit.run(() -> {
+                replyFirstPageCache.onBlanked(postId, replyId);
+                postSearchIndex.removeReply(postId, replyId);
+                postEventHub.replyUpdated(postId, blanked);
+            });
+            return;
+        }
+
+        repliesRepository.delete(gotReply);
+
+        AfterCommit.run(() -> {
+            replyCountAggregator.add(postId, -1);
+            replyFirstPageCache.onDeleted(postId, replyId);
+            postSearchIndex.removeReply(postId, replyId);
+            postEventHub.repliesDeleted(postId, List.of(replyId));
+        });
+    }
+
+    private ReplyFirstPageCache.Page loadFirstPage(Long postId) {
+        List<ReplyRow> replies = repliesRepository.findSliceByPostId(
+                postId, Long.MAX_VALUE, PageRequest.of(0, ReplyFirstPageCache.WINDOW + 1));
+        boolean hasMore = replies.size() > ReplyFirstPageCache.WINDOW;
+        if (hasMore) {
+            replies = replies.subList(0, ReplyFirstPageCache.WINDOW);
+        }
+        return new ReplyFirstPageCache.Page(toDetails(replies), hasMore);
+    }
+
+    // 한 페이지 분량의 댓글 행에 작성자 정보를 채움. 캐시에 없는 작성자만 IN 쿼리 한 번으로 (페이지 크기와 상관없이 쿼리 최대 1개)
+    private List<RepliesResponseDTO.ReplyDetailResponse> toDetails(List<ReplyRow> rows) {
+        Map<Long, AuthorSummary> authors = authorCache.getAll(rows.stream().map(ReplyRow::userId).toList());
+        return rows.stream().map(row -> {
+            AuthorSummary author = row.userId() == null ? null : authors.get(row.userId());
+            return RepliesResponseDTO.ReplyDetailResponse.builder()
+                    .id(row.id())
+                    .userId(row.userId())
+                    .content(row.content())
+                    .createdAt(row.createdAt())
+                    .nickname(author == null ? null : author.nickname())
+                    .profileImg(author == null ? null : author.profileImage())
+                    .parentId(row.parentId())
+                    .depth(row.depth())
+                    .build();
+        }).toList();
+    }
+
+    private RepliesResponseDTO.ReplyDetailResponse toDetail(Replies reply, AuthorSummary author) {
+        return RepliesResponseDTO.ReplyDetailResponse.builder()
+                .id(reply.getId())
+                .userId(author == null ? null : author.userId())
+                .content(reply.getContent())
+                .createdAt(reply.getCreatedAt())
+                .nickname(author == null ? null : author.nickname())
+                .profileImg(author == null ? null : author.profileImage())
+                .parentId(reply.getParentId())
+                .depth(reply.getDepth())
+                .build();
     }
 
 }
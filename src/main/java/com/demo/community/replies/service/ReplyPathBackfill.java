@@ -0,0 +1,34 @@
+package com.demo.community.replies.service;
+
+import com.demo.community.replies.domain.entity.Replies;
+import com.demo.community.replies.domain.entity.ReplyPath;
+import com.demo.community.replies.domain.repository.RepliesRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// 스레드 도입 전에 쌓인 댓글 (경로가 빈 문자열) 에 최상위 댓글 경로를 채움.
+// 그때는 답글이 없었으므로 전부 최상위 댓글. 500 개씩 트랜잭션을 나눠서 처리
+@Component
+@RequiredArgsConstructor
+public class ReplyPathBackfill implements ApplicationRunner {
+
+    private final RepliesRepository repliesRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                List<Replies> chunk = repliesRepository.findTop500ByPathOrderByIdAsc("");
+                chunk.forEach(reply -> reply.setPath(ReplyPath.root(reply.getId())));
+                return chunk.size() == 500;
+            }));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.demo.community.users.cache;
+
+import com.demo.community.common.cache.StripedLruCache;
+import com.demo.community.users.dto.AuthorSummary;
+import com.demo.community.users.service.AuthorLookup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작성자 id -> 닉네임/프로필 이미지 LRU 캐시. 글 목록/상세, 댓글 목록/작성이 같이 쓴다.
+ * <p>
+ * 한 페이지의 작성자를 한 번에 찾고, 캐시에 없는 작성자만 모아서 IN 쿼리 한 번으로 채운다 (AuthorLookup, 호출한 쪽 트랜잭션).
+ * 프로필 수정/탈퇴 시 커밋 후 그 작성자만 지운다.
+ * 호출한 쪽 트랜잭션의 스냅샷은 적재보다 먼저 잡혔을 수 있으므로, 최근 RECENT_MILLIS 안에 무효화된 작성자는
+ * 읽어온 값을 돌려주기만 하고 캐시에는 남기지 않는다 (지운 값을 오래된 스냅샷으로 다시 살리지 않도록).
+ * 읽기 트랜잭션이 RECENT_MILLIS 보다 오래 열려 있지 않다고 가정한다.
+ * 없는 (탈퇴한) 작성자는 캐시하지 않는다. LRU 는 조각별로만 잠근다 (StripedLruCache).
+ */
+@Component
+public class AuthorCache {
+
+    // evictions: 용량 초과로 밀려난 수, invalidations: 프로필 수정/탈퇴로 지운 수
+    public record Stats(long hits, long misses, long evictions, long invalidations, int size, int capacity) {}
+
+    private static final long RECENT_MILLIS = 60_000;
+
+    private final AuthorLookup authorLookup;
+    private final int capacity;
+    private final StripedLruCache<Long, AuthorSummary> authors;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    // 작성자 id -> 마지막 무효화 시각. 무효화할 때 RECENT_MILLIS 지난 것은 정리
+    private final ConcurrentHashMap<Long, Long> recentlyInvalidated = new ConcurrentHashMap<>();
+
+    public AuthorCache(AuthorLookup authorLookup, @Value("${authors.cache-capacity:10000}") int capacity) {
+        this.authorLookup = authorLookup;
+        this.capacity = capacity;
+        this.authors = new StripedLruCache<>(capacity);
+    }
+
+    // 없는 작성자는 결과에 없음. null id 는 무시
+    public Map<Long, AuthorSummary> getAll(Collection<Long> userIds) {
+        Map<Long, AuthorSummary> found = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long userId : userIds) {
+            if (userId == null || found.containsKey(userId) || missing.contains(userId)) {continue;}
+            AuthorSummary author = authors.get(userId);
+            if (author != null) {
+                hits.increment();
+                found.put(userId, author);
+            } else {
+                misses.increment();
+                missing.add(userId);
+            }
+        }
+        if (missing.isEmpty()) {return found;}
+
+        Map<Long, AuthorSummary> loaded = authorLookup.findAll(missing);
+        loaded.forEach(authors::put);
+        // 넣은 뒤에 확인해야 확인 이후의 무효화가 넣은 값을 지움. 최근 무효화된 작성자는 다음 조회에서 새로 읽음
+        long now = System.currentTimeMillis();
+        for (Long userId : loaded.keySet()) {
+            Long invalidatedAt = recentlyInvalidated.get(userId);
+            if (invalidatedAt != null && now - invalidatedAt <= RECENT_MILLIS) {
+                authors.remove(userId);
+            }
+        }
+        found.putAll(loaded);
+        return found;
+    }
+
+    // 없으면 null
+    public AuthorSummary get(Long userId) {
+        if (userId == null) {return null;}
+        return getAll(List.of(userId)).get(userId);
+    }
+
+    public void evict(Long userId) {
+        long now = System.currentTimeMillis();
+        invalidations.increment();
+        recentlyInvalidated.values().removeIf(at -> now - at > RECENT_MILLIS);
+        recentlyInvalidated.put(userId, now);
+        authors.remove(userId);
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), authors.evictions(), invalidations.sum(), authors.size(), capacity);
+    }
+}
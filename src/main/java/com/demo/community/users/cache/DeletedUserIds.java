@@ -0,0 +1,53 @@
+package com.demo.community.users.cache;
+
+import com.demo.community.users.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 탈퇴했거나 탈퇴 처리 중인 회원 id 집합. 인증 필터가 요청마다 DB 나 작성자 캐시를 거치지 않고 이것만 본다.
+ * <p>
+ * 탈퇴한 노드는 커밋 직후 바로 넣고, 다른 노드의 탈퇴는 REFRESH 주기마다 deleted_at 이 찍힌 회원을 다시 읽어서 반영한다
+ * (다른 노드에서는 최대 한 주기 늦게 막힘).
+ * 정리가 끝나 users 행이 지워진 회원도 액세스 토큰 수명보다 긴 RETAIN_MILLIS 동안 남겨서, 이미 발급된 토큰이 만료될 때까지 막는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeletedUserIds {
+
+    // 액세스 토큰 수명 (5분) 보다 길게
+    private static final long RETAIN_MILLIS = 10 * 60_000;
+
+    private final UserRepository userRepository;
+
+    // 회원 id -> 마지막으로 탈퇴 중임을 확인한 시각
+    private final ConcurrentHashMap<Long, Long> deleted = new ConcurrentHashMap<>();
+
+    public boolean contains(Long userId) {
+        return deleted.containsKey(userId);
+    }
+
+    // 탈퇴 커밋 후 호출
+    public void add(Long userId) {
+        deleted.put(userId, System.currentTimeMillis());
+    }
+
+    // 기동 직후와 주기마다: 다른 노드의 탈퇴를 반영하고, 정리가 끝난 지 오래된 회원은 뺌
+    @Scheduled(fixedDelayString = "${users.deleted-ids-refresh-ms:10000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        try {
+            userRepository.findDeletingUserIds().forEach(userId -> deleted.put(userId, now));
+        } catch (RuntimeException ex) {
+            // 못 읽었으면 기존 집합을 그대로 두고 (아무것도 빼지 않음) 다음 주기에 다시 읽음
+            log.warn("deleted user ids refresh failed", ex);
+            return;
+        }
+        deleted.values().removeIf(at -> now - at > RETAIN_MILLIS);
+    }
+}
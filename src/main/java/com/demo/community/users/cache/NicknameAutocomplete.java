@@ -0,0 +1,70 @@
+package com.demo.community.users.cache;
+
+import com.demo.community.users.domain.enitty.QUsers;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 닉네임 자동완성. 읽기는 volatile 트리 하나를 보고 락 없이, 쓰기는 새 트리로 교체.
+@Component
+@RequiredArgsConstructor
+public class NicknameAutocomplete {
+
+    private static final int LOAD_CHUNK = 1_000;
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    private volatile NicknameTrie trie = NicknameTrie.EMPTY;
+
+    // 기동 시 users 를 id 순으로 나눠 읽어서 한 번에 구성
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        QUsers u = QUsers.users;
+        List<String> nicknames = new ArrayList<>();
+        long cursor = 0;
+        while (true) {
+            List<Tuple> rows = jpaQueryFactory
+                    .select(u.id, u.nickname)
+                    .from(u)
+                    .where(u.id.gt(cursor))
+                    .orderBy(u.id.asc())
+                    .limit(LOAD_CHUNK)
+                    .fetch();
+            rows.forEach(row -> nicknames.add(row.get(u.nickname)));
+            if (rows.size() < LOAD_CHUNK) {break;}
+            cursor = rows.getLast().get(u.id);
+        }
+
+        NicknameTrie loaded = NicknameTrie.of(nicknames);
+        synchronized (this) {
+            // 적재하는 동안 바뀐 닉네임은 이후 add/remove 로 다시 반영되지 않으므로 합쳐줌
+            NicknameTrie merged = loaded;
+            for (String name : trie.suggest("", Integer.MAX_VALUE)) {
+                merged = merged.with(name);
+            }
+            trie = merged;
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, limit);
+    }
+
+    public synchronized void add(String nickname) {
+        trie = trie.with(nickname);
+    }
+
+    public synchronized void remove(String nickname) {
+        trie = trie.without(nickname);
+    }
+
+    public synchronized void rename(String before, String after) {
+        trie = trie.without(before).with(after);
+    }
+}
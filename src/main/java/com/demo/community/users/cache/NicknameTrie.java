@@ -0,0 +1,221 @@
+package com.demo.community.users.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 닉네임 접두어 검색용 불변 radix 트리.
+ * <p>
+ * 분기점에만 노드를 두고 간선에 문자열을 붙여서 노드 수를 줄인다.
+ * 추가/삭제는 바뀐 경로의 노드만 새로 만들어 새 트리를 돌려주므로 (path copying),
+ * 기존 트리를 읽고 있는 스레드는 락 없이 그대로 읽을 수 있다.
+ */
+public final class NicknameTrie {
+
+    public static final NicknameTrie EMPTY = new NicknameTrie(Node.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private NicknameTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static NicknameTrie of(Iterable<String> nicknames) {
+        NicknameTrie trie = EMPTY;
+        for (String nickname : nicknames) {
+            trie = trie.with(nickname);
+        }
+        return trie;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public NicknameTrie with(String nickname) {
+        if (nickname == null || nickname.isEmpty()) {return this;}
+        Node next = root.insert(nickname, 0);
+        return next == root ? this : new NicknameTrie(next, size + 1);
+    }
+
+    public NicknameTrie without(String nickname) {
+        if (nickname == null || nickname.isEmpty()) {return this;}
+        Node next = root.remove(nickname, 0);
+        return next == root ? this : new NicknameTrie(next, size - 1);
+    }
+
+    public boolean contains(String nickname) {
+        List<String> found = suggest(nickname, 1);
+        return !found.isEmpty() && found.getFirst().equals(nickname);
+    }
+
+    // prefix 로 시작하는 닉네임을 사전순으로 최대 limit 개
+    public List<String> suggest(String prefix, int limit) {
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        if (prefix == null || limit <= 0) {return result;}
+
+        Node node = root;
+        StringBuilder path = new StringBuilder(prefix.length() + 16);
+        int i = 0;
+        while (i < prefix.length()) {
+            int idx = node.find(prefix.charAt(i));
+            if (idx < 0) {return result;}
+            String label = node.labels[idx];
+            int common = commonPrefix(label, prefix, i);
+            if (common == label.length()) {
+                i += common;
+            } else if (i + common == prefix.length()) {
+                // prefix 가 간선 중간에서 끝남
+                i = prefix.length();
+            } else {
+                return result;
+            }
+            path.append(label);
+            node = node.children[idx];
+        }
+        node.collect(path, result, limit);
+        return result;
+    }
+
+    // 대략적인 메모리 사용량 (compressed oops 기준 객체 헤더 + 필드 + 배열 + 간선 문자열)
+    public long estimateBytes() {
+        return root.estimateBytes();
+    }
+
+    private static int commonPrefix(String label, String key, int from) {
+        int max = Math.min(label.length(), key.length() - from);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(from + i)) {i++;}
+        return i;
+    }
+
+    private static final class Node {
+
+        static final Node EMPTY = new Node(new String[0], new Node[0], false);
+
+        // 간선 라벨 (첫 글자 기준 정렬) 과 자식 노드
+        final String[] labels;
+        final Node[] children;
+        final boolean terminal;
+
+        Node(String[] labels, Node[] children, boolean terminal) {
+            this.labels = labels;
+            this.children = children;
+            this.terminal = terminal;
+        }
+
+        int find(char c) {
+            int lo = 0, hi = labels.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                char m = labels[mid].charAt(0);
+                if (m < c) {lo = mid + 1;} else if (m > c) {hi = mid - 1;} else {return mid;}
+            }
+            return -(lo + 1);
+        }
+
+        Node insert(String key, int i) {
+            if (i == key.length()) {
+                return terminal ? this : new Node(labels, children, true);
+            }
+            int idx = find(key.charAt(i));
+            if (idx < 0) {
+                int at = -idx - 1;
+                return withEdgeAdded(at, key.substring(i), new Node(EMPTY.labels, EMPTY.children, true));
+            }
+
+            String label = labels[idx];
+            int common = commonPrefix(label, key, i);
+            if (common == label.length()) {
+                Node child = children[idx].insert(key, i + common);
+                return child == children[idx] ? this : withEdgeReplaced(idx, label, child);
+            }
+
+            // 간선 중간에서 갈라짐 -> 중간 노드 생성
+            Node tail = new Node(new String[]{label.substring(common)}, new Node[]{children[idx]}, false);
+            Node mid;
+            if (i + common == key.length()) {
+                mid = new Node(tail.labels, tail.children, true);
+            } else {
+                mid = tail.withEdgeAdded(-tail.find(key.charAt(i + common)) - 1,
+                        key.substring(i + common), new Node(EMPTY.labels, EMPTY.children, true));
+            }
+            return withEdgeReplaced(idx, label.substring(0, common), mid);
+        }
+
+        Node remove(String key, int i) {
+            if (i == key.length()) {
+                return terminal ? new Node(labels, children, false) : this;
+            }
+            int idx = find(key.charAt(i));
+            if (idx < 0) {return this;}
+
+            String label = labels[idx];
+            if (!key.startsWith(label, i)) {return this;}
+
+            Node child = children[idx].remove(key, i + label.length());
+            if (child == children[idx]) {return this;}
+
+            if (!child.terminal && child.labels.length == 0) {
+                return withEdgeRemoved(idx);
+            }
+            if (!child.terminal && child.labels.length == 1) {
+                // 자식이 분기점이 아니게 되면 간선을 합침
+                return withEdgeReplaced(idx, label + child.labels[0], child.children[0]);
+            }
+            return withEdgeReplaced(idx, label, child);
+        }
+
+        void collect(StringBuilder path, List<String> out, int limit) {
+            if (terminal) {out.add(path.toString());}
+            for (int k = 0; k < labels.length && out.size() < limit; k++) {
+                int len = path.length();
+                path.append(labels[k]);
+                children[k].collect(path, out, limit);
+                path.setLength(len);
+            }
+        }
+
+        long estimateBytes() {
+            long bytes = 24 + 16 + 4L * labels.length + 16 + 4L * children.length;
+            for (int k = 0; k < labels.length; k++) {
+                bytes += 24 + 16 + labels[k].length() * 2L;
+                bytes += children[k].estimateBytes();
+            }
+            return bytes;
+        }
+
+        private Node withEdgeAdded(int at, String label, Node child) {
+            String[] l = new String[labels.length + 1];
+            Node[] c = new Node[children.length + 1];
+            System.arraycopy(labels, 0, l, 0, at);
+            System.arraycopy(children, 0, c, 0, at);
+            l[at] = label;
+            c[at] = child;
+            System.arraycopy(labels, at, l, at + 1, labels.length - at);
+            System.arraycopy(children, at, c, at + 1, children.length - at);
+            return new Node(l, c, terminal);
+        }
+
+        private Node withEdgeReplaced(int idx, String label, Node child) {
+            String[] l = Arrays.copyOf(labels, labels.length);
+            Node[] c = Arrays.copyOf(children, children.length);
+            l[idx] = label;
+            c[idx] = child;
+            return new Node(l, c, terminal);
+        }
+
+        private Node withEdgeRemoved(int idx) {
+            String[] l = new String[labels.length - 1];
+            Node[] c = new Node[children.length - 1];
+            System.arraycopy(labels, 0, l, 0, idx);
+            System.arraycopy(children, 0, c, 0, idx);
+            System.arraycopy(labels, idx + 1, l, idx, labels.length - idx - 1);
+            System.arraycopy(children, idx + 1, c, idx, children.length - idx - 1);
+            return new Node(l, c, terminal);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.demo.community.users.cache;
+
+import com.demo.community.users.domain.enitty.QUsers;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 회원가입 중 이메일/닉네임 중복 확인 앞단의 Bloom filter.
+ * <p>
+ * "없음" 이 확실하면 DB 를 보지 않고 바로 사용 가능으로 답하고, "있을 수도 있음" 일 때만 인덱스 조회로 넘긴다.
+ * 기동 시 users 를 id 순으로 나눠 읽으면서 (전체를 메모리에 올리지 않고) 채우고, 이후 저장/수정되는 회원은 UserAvailabilityListener 가 바로 추가한다.
+ * 탈퇴/닉네임 변경으로 빠진 값은 지울 수 없어서 "있을 수도 있음" 으로 남으므로 주기적으로 다시 만든다.
+ * 다시 만드는 동안 들어온 값은 새 필터에도 넣고, 교체 직후 한 번 더 훑어서 재구성 시작 무렵 커밋된 회원도 빠뜨리지 않는다.
+ * MySQL 기본 콜레이션이 대소문자/악센트를 구분하지 않으므로 같은 기준으로 정규화해서 넣고 찾는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserAvailabilityFilter {
+
+    private static final int LOAD_CHUNK = 1_000;
+    private static final long MIN_CAPACITY = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private record Filters(BloomFilter emails, BloomFilter nicknames) {
+        static Filters withCapacity(long capacity) {
+            return new Filters(new BloomFilter(capacity, FALSE_POSITIVE_RATE), new BloomFilter(capacity, FALSE_POSITIVE_RATE));
+        }
+    }
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    // 첫 구성이 끝나기 전에는 null (모든 확인이 DB 로 감)
+    private volatile Filters current;
+    private volatile Filters building;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${users.availability-filter-rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuild() {
+        QUsers u = QUsers.users;
+        Long users = jpaQueryFactory.select(u.count()).from(u).fetchOne();
+        // 다음 재구성 전까지 늘어날 가입자를 감안해 두 배로 잡음
+        Filters next = Filters.withCapacity(Math.max(MIN_CAPACITY, (users == null ? 0 : users) * 2));
+        building = next;
+        scanInto(next);
+        current = next;
+
+        // 리스너는 커밋 전에 넣으므로, building 을 정하기 전에 넣고 첫 훑기가 지나간 뒤에 커밋된 회원은 새 필터에 없을 수 있음.
+        // 교체 후 한 번 더 훑어서 그 사이 커밋된 회원까지 채움 (이후 추가는 current 로 바로 들어감)
+        scanInto(next);
+        building = null;
+        log.info("user availability filters rebuilt for {} users ({} bytes each)", users, next.emails().sizeBytes());
+    }
+
+    private void scanInto(Filters next) {
+        QUsers u = QUsers.users;
+        long cursor = Long.MIN_VALUE;
+        while (true) {
+            List<Tuple> rows = jpaQueryFactory
+                    .select(u.id, u.email, u.nickname)
+                    .from(u)
+                    .where(u.id.gt(cursor))
+                    .orderBy(u.id.asc())
+                    .limit(LOAD_CHUNK)
+                    .fetch();
+            for (Tuple row : rows) {
+                next.emails().put(normalize(row.get(u.email)));
+                next.nicknames().put(normalize(row.get(u.nickname)));
+            }
+            if (rows.size() < LOAD_CHUNK) {return;}
+            cursor = rows.getLast().get(u.id);
+        }
+    }
+
+    // false 면 그 이메일을 쓰는 회원이 없는 것이 확실함
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        return filters == null || email == null || filters.emails().mightContain(normalize(email));
+    }
+
+    public boolean mightContainNickname(String nickname) {
+        Filters filters = current;
+        return filters == null || nickname == null || filters.nicknames().mightContain(normalize(nickname));
+    }
+
+    // building 을 먼저 읽어야 재구성이 끝나는 순간과 겹쳐도 새 필터에 빠지지 않음
+    // (재구성은 current 를 바꾼 뒤에 building 을 비움)
+    public void addEmail(String email) {
+        if (email == null) {return;}
+        String key = normalize(email);
+        Filters next = building;
+        Filters filters = current;
+        if (next != null) {next.emails().put(key);}
+        if (filters != null) {filters.emails().put(key);}
+    }
+
+    public void addNickname(String nickname) {
+        if (nickname == null) {return;}
+        String key = normalize(nickname);
+        Filters next = building;
+        Filters filters = current;
+        if (next != null) {next.nicknames().put(key);}
+        if (filters != null) {filters.nicknames().put(key);}
+    }
+
+    // 대소문자/악센트 구분 없는 비교 기준 (utf8mb4_0900_ai_ci 근사)
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,23 @@
+package com.demo.community.users.cache;
+
+import com.demo.community.users.domain.enitty.Users;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Users 가 어느 경로로 저장/수정되든 가용성 필터에 바로 반영하는 엔티티 리스너.
+// 커밋 전에 넣어야 커밋 직후 중복 확인이 필터에서 "없음" 으로 빠지는 틈이 없음. 롤백되면 "있을 수도 있음" 이 하나 남을 뿐
+@Component
+@RequiredArgsConstructor
+public class UserAvailabilityListener {
+
+    private final UserAvailabilityFilter userAvailabilityFilter;
+
+    @PostPersist
+    @PostUpdate
+    void onSaved(Users user) {
+        userAvailabilityFilter.addEmail(user.getEmail());
+        userAvailabilityFilter.addNickname(user.getNickname());
+    }
+}
@@ -1,6 +1,9 @@
 package com.demo.community.users.controller;
 
 import com.demo.community.common.dto.ApiResponse;
+import com.demo.community.likes.service.LikesPostsService;
+import com.demo.community.posts.dto.PostResponseDTO;
+import com.demo.community.posts.service.PostService;
 import com.demo.community.users.domain.enitty.Users;
 import com.demo.community.users.dto.UsersRequestDTO;
 import com.demo.community.users.dto.UsersResponseDTO;
@@ -28,6 +31,8 @@ import java.util.Map;
 public class UsersController {
 
     private final UsersService usersService;
+    private final PostService postService;
+    private final LikesPostsService likesPostsService;
 
     // 회원가입 요청 (Create)
     @PostMapping
@@ -68,6 +73,17 @@ public class UsersController {
         return ResponseEntity.ok(new ApiResponse<>(message, Map.of("availability", result)));
     }
 
+    // 닉네임 자동완성
+    @GetMapping("/nicknames")
+    public ResponseEntity<ApiResponse<UsersResponseDTO.NicknameSuggestResponse>> suggestNicknames(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        UsersResponseDTO.NicknameSuggestResponse result = usersService.suggestNicknames(prefix, size);
+
+        return ResponseEntity.ok(new ApiResponse<>("nickname suggestions provided", result));
+    }
+
     // 프로필 사진 업로드 (임시)
     // 추후에 프로필사진 업로드 프리사인드 S3 url을 반환해주는것으로 변경 (FE는 이 url에 업로드 후, 업로드 위치 URL을 다시 보내줘야 함)
     // 현재는 BE 특정 디렉에 이미지 파일을 저장한 후, 해당 디렉을 URL로 public에 공개하는 방식 사용
@@ -126,6 +142,38 @@ public class UsersController {
     }
 
 
+    // 유저가 쓴 글 목록 (커서 페이징)
+    @GetMapping("/{userId}/posts")
+    public ResponseEntity<ApiResponse<PostResponseDTO.PostListSliceResponse>> getUserPosts(
+            @PathVariable("userId") Long userId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long lastSeenId,
+            @RequestParam(required = false) String cursor,
+            HttpServletRequest req
+    ){
+        Long viewerId = (Long) req.getAttribute("userId");
+        PostResponseDTO.PostListSliceResponse result = postService.getUserPostList(userId, lastSeenId, cursor, size, viewerId);
+
+        return ResponseEntity.ok(new ApiResponse<>("user post list provided", result));
+    }
+
+
+    // 유저가 좋아요한 글 목록 (좋아요 누른 순서, 커서 페이징)
+    @GetMapping("/{userId}/likes")
+    public ResponseEntity<ApiResponse<PostResponseDTO.PostListSliceResponse>> getUserLikes(
+            @PathVariable("userId") Long userId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long lastSeenId,
+            @RequestParam(required = false) String cursor,
+            HttpServletRequest req
+    ){
+        Long viewerId = (Long) req.getAttribute("userId");
+        PostResponseDTO.PostListSliceResponse result = likesPostsService.getLikedPostList(userId, lastSeenId, cursor, size, viewerId);
+
+        return ResponseEntity.ok(new ApiResponse<>("user liked post list provided", result));
+    }
+
+
     // 유저 간단조회 (필수X)
 
 
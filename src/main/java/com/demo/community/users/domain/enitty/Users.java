@@ -1,10 +1,15 @@
 package com.demo.community.users.domain.enitty;
 
 import com.demo.community.common.domain.entity.BaseEntity;
+import com.demo.community.common.id.SnowflakeId;
+import com.demo.community.users.cache.UserAvailabilityListener;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
+@EntityListeners(UserAvailabilityListener.class)
 @Getter
 @Setter
 @Builder
@@ -12,7 +17,7 @@ import lombok.*;
 @AllArgsConstructor
 public class Users extends BaseEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @SnowflakeId
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -29,6 +34,23 @@ public class Users extends BaseEntity {
     @Builder.Default
     private String profileImage = "https://i.namu.wiki/i/M0j6sykCciGaZJ8yW0CMumUigNAFS8Z-dJA9h_GKYSmqqYSQyqJq8D8xSg3qAz2htlsPQfyHZZMmAbPV-Ml9UA.webp";
 
+    // 탈퇴 요청 시각. 값이 있으면 탈퇴 처리 중 (UserDeletionJob 이 글/댓글/좋아요를 정리한 뒤 행을 지움)
+    private LocalDateTime deletedAt;
+
+    // 탈퇴 정리를 맡은 노드와 그 점유 만료 시각 (여러 노드가 같은 회원을 동시에 정리하지 않도록)
+    @Column(length = 36)
+    private String deletionOwner;
+
+    private LocalDateTime deletionLeaseUntil;
+
+    public void markDeleted() {
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
     public void updateUser(String nickname, String profileImage) {
         if (nickname != null){this.nickname = nickname;}
         if (profileImage != null && profileImage.isEmpty()){this.profileImage = profileImage;}
@@ -1,13 +1,44 @@
 package com.demo.community.users.domain.repository;
 
 import com.demo.community.users.domain.enitty.Users;
+import com.demo.community.users.dto.AuthorSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<Users, Long> {
     Optional<Users> findFirstByEmail(String email);
     Optional<Users> findFirstByNickname(String nickname);
+
+    @Query("""
+        select new com.demo.community.users.dto.AuthorSummary(u.id, u.nickname, u.profileImage)
+        from Users u
+        where u.id in :ids
+          and u.deletedAt is null
+    """)
+    List<AuthorSummary> findAuthorSummaries(@Param("ids") Collection<Long> ids);
+
+    // 탈퇴 요청은 됐지만 아직 정리가 끝나지 않은 회원
+    @Query("select u.id from Users u where u.deletedAt is not null")
+    List<Long> findDeletingUserIds();
+
+    // 탈퇴 정리 점유. 아무도 안 잡았거나, 내가 잡았거나, 잡은 노드의 점유가 만료됐을 때만 1
+    @Modifying
+    @Query("""
+        update Users u
+        set u.deletionOwner = :owner, u.deletionLeaseUntil = :until
+        where u.id = :id
+          and u.deletedAt is not null
+          and (u.deletionOwner is null or u.deletionOwner = :owner or u.deletionLeaseUntil < :now)
+    """)
+    int claimDeletion(@Param("id") Long id, @Param("owner") String owner,
+                      @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
 }
@@ -0,0 +1,4 @@
+package com.demo.community.users.dto;
+
+// 목록/상세 화면에 같이 내려가는 작성자 정보
+public record AuthorSummary(Long userId, String nickname, String profileImage) {}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class UsersResponseDTO {
 
@@ -28,4 +29,12 @@ public class UsersResponseDTO {
         private LocalDateTime createdAt;
         private LocalDateTime modifiedAt;
     }
+
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Getter @Setter
+    public static class NicknameSuggestResponse{
+        private List<String> nicknames;
+    }
 }
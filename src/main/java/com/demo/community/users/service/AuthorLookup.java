@@ -0,0 +1,38 @@
+package com.demo.community.users.service;
+
+import com.demo.community.users.domain.repository.UserRepository;
+import com.demo.community.users.dto.AuthorSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 한 페이지에 나온 작성자들의 닉네임/프로필 이미지를 IN 쿼리 한 번으로 읽어오는 조회기.
+ * <p>
+ * 행마다 users 를 조인하거나 지연 로딩하는 대신, 페이지를 먼저 읽고 작성자 id 를 모아서 한 번에 채운다.
+ * 없는 (탈퇴한) 작성자는 결과에 없다.
+ * 호출한 쪽 트랜잭션이 있으면 그 커넥션으로 읽는다 (스냅샷이 오래됐을 수 있는 문제는 AuthorCache 가 처리).
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthorLookup {
+
+    private final UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    public Map<Long, AuthorSummary> findAll(Collection<Long> userIds) {
+        Set<Long> ids = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {return Map.of();}
+
+        Map<Long, AuthorSummary> authors = new HashMap<>(ids.size() * 2);
+        userRepository.findAuthorSummaries(ids).forEach(author -> authors.put(author.userId(), author));
+        return authors;
+    }
+}
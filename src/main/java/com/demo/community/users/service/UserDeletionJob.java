@@ -0,0 +1,187 @@
+package com.demo.community.users.service;
+
+import com.demo.community.likes.cache.LikedPostsCache;
+import com.demo.community.likes.domain.repository.LikesPostsRepository;
+import com.demo.community.posts.cache.HotRankingIndex;
+import com.demo.community.posts.cache.LikeCounterShards;
+import com.demo.community.posts.cache.PostDetailCache;
+import com.demo.community.posts.domain.repository.PostFeedRowRepository;
+import com.demo.community.posts.domain.repository.PostRepository;
+import com.demo.community.posts.events.PostEventHub;
+import com.demo.community.replies.cache.ReplyFirstPageCache;
+import com.demo.community.replies.domain.repository.RepliesRepository;
+import com.demo.community.users.cache.AuthorCache;
+import com.demo.community.users.domain.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 탈퇴한 회원의 좋아요/댓글/글을 나눠서 정리하는 백그라운드 작업.
+ * <p>
+ * 탈퇴 요청은 users.deleted_at 만 찍고 끝나고, 여기서 좋아요 삭제 -> 댓글 작성자 비우기 -> 글 작성자 비우기 순으로
+ * CHUNK 개씩 각자 짧은 트랜잭션으로 처리한 뒤 마지막에 users 행을 지운다. 한 트랜잭션이 잡는 행 락은 CHUNK 개를 넘지 않는다.
+ * 좋아요는 청크의 행을 다 지운 뒤 같은 트랜잭션 끝에서 문장 하나로 카운터를 줄이므로, 중간에 멈춰도 카운터와 좋아요 행이 어긋나지 않고
+ * 인기 글의 카운터 행 락은 커밋 직전에만 잡힌다.
+ * 진행 상태는 따로 저장하지 않는다. 매 청크마다 남은 행을 user_id 로 다시 찾으므로,
+ * 재시작하거나 실패하면 deleted_at 이 찍힌 회원을 주기적으로 찾아 이어서 처리하면 된다.
+ * 작업은 스레드 하나에서 한 번에 한 회원씩 돈다.
+ * 여러 노드가 같은 회원을 주워 가지 않도록, 시작 전과 청크마다 users 행에 조건부 UPDATE 로 LEASE 만큼 점유를 잡거나 늘린다.
+ * 다른 노드가 잡고 있으면 건너뛰고, 점유를 잃으면 그 자리에서 멈춘다. 잡은 노드가 죽으면 점유가 만료된 뒤 다른 노드의 주기 작업이 이어받는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDeletionJob {
+
+    private static final int CHUNK = 200;
+    private static final Duration LEASE = Duration.ofMinutes(2);
+
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final PostFeedRowRepository postFeedRowRepository;
+    private final RepliesRepository repliesRepository;
+    private final LikesPostsRepository likesPostsRepository;
+    private final LikeCounterShards likeCounterShards;
+    private final HotRankingIndex hotRankingIndex;
+    private final PostEventHub postEventHub;
+    private final AuthorCache authorCache;
+    private final PostDetailCache postDetailCache;
+    private final ReplyFirstPageCache replyFirstPageCache;
+    private final LikedPostsCache likedPostsCache;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "user-deletion");
+        t.setDaemon(true);
+        return t;
+    });
+    // 대기 중이거나 처리 중인 회원 (같은 회원을 두 번 넣지 않도록)
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    // 이 노드의 점유 표시 (재시작하면 새 값이므로 이전 실행의 점유는 만료를 기다림)
+    private final String owner = UUID.randomUUID().toString();
+
+    // 탈퇴 커밋 후 호출
+    public void enqueue(Long userId) {
+        if (queued.add(userId)) {
+            worker.execute(() -> run(userId));
+        }
+    }
+
+    // 기동 직후와 주기마다: 재시작이나 실패로 끝나지 않은 탈퇴를 이어서 처리
+    @Scheduled(fixedDelayString = "${users.deletion-sweep-ms:300000}")
+    public void resumePending() {
+        userRepository.findDeletingUserIds().forEach(this::enqueue);
+    }
+
+    private void run(Long userId) {
+        try {
+            if (!claim(userId)) {
+                // 다른 노드가 정리 중이거나 이미 끝남
+                return;
+            }
+            int likes = 0;
+            int replies = 0;
+            int posts = 0;
+            for (int n; (n = deleteLikes(userId)) > 0; ) {likes += n; renew(userId);}
+            for (int n; (n = detachReplies(userId)) > 0; ) {replies += n; renew(userId);}
+            for (int n; (n = detachPosts(userId)) > 0; ) {posts += n; renew(userId);}
+
+            // 정리 도중 새로 생긴 행이 있으면 FK 에 걸려 실패하고, 다음 주기에 그 행부터 다시 처리됨
+            transactionTemplate.executeWithoutResult(status -> userRepository.deleteAllByIdInBatch(List.of(userId)));
+
+            authorCache.evict(userId);
+            postDetailCache.evictByAuthor(userId);
+            replyFirstPageCache.evictByAuthor(userId);
+            likedPostsCache.evict(userId);
+            log.info("user {} deleted ({} likes, {} replies, {} posts)", userId, likes, replies, posts);
+        } catch (RuntimeException ex) {
+            log.warn("deletion of user {} stopped, will resume on next sweep", userId, ex);
+        } finally {
+            queued.remove(userId);
+        }
+    }
+
+    private boolean claim(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status ->
+                userRepository.claimDeletion(userId, owner, now, now.plus(LEASE)));
+        return claimed != null && claimed > 0;
+    }
+
+    private void renew(Long userId) {
+        if (!claim(userId)) {
+            throw new IllegalStateException("deletion lease of user " + userId + " taken over by another node");
+        }
+    }
+
+    // 좋아요 CHUNK 개를 지우고 지운 글들의 카운터를 한 번에 줄임. 찾은 행 수를 반환
+    private int deleteLikes(Long userId) {
+        List<Long> removed = new ArrayList<>();
+        Integer found = transactionTemplate.execute(status -> {
+            removed.clear();
+            List<Long> postIds = likesPostsRepository.findPostIdsByUserId(userId, PageRequest.of(0, CHUNK));
+            for (Long postId : postIds) {
+                // 그 사이 좋아요 취소로 이미 지워졌으면 카운터를 건드리지 않음
+                if (likesPostsRepository.deleteIfPresent(userId, postId) > 0) {
+                    removed.add(postId);
+                }
+            }
+            likeCounterShards.decrementAll(removed);
+            return postIds.size();
+        });
+
+        try {
+            likeCounterShards.refreshFeed(removed);
+        } catch (RuntimeException ex) {
+            // 카운터는 이미 반영됨. post_feed 는 다음 반영 또는 재구축 때 맞춰짐
+            log.warn("post_feed like count refresh failed for {} posts", removed.size(), ex);
+        }
+        removed.forEach(postId -> {
+            hotRankingIndex.addLikes(postId, -1);
+            postEventHub.likeChanged(postId);
+        });
+        return found == null ? 0 : found;
+    }
+
+    private int detachReplies(Long userId) {
+        Integer found = transactionTemplate.execute(status -> {
+            List<Long> ids = repliesRepository.findIdsByUserId(userId, PageRequest.of(0, CHUNK));
+            if (!ids.isEmpty()) {repliesRepository.nullifyUserReferences(ids);}
+            return ids.size();
+        });
+        return found == null ? 0 : found;
+    }
+
+    private int detachPosts(Long userId) {
+        Integer found = transactionTemplate.execute(status -> {
+            List<Long> ids = postRepository.findIdsByUserId(userId, PageRequest.of(0, CHUNK));
+            if (!ids.isEmpty()) {
+                postRepository.nullifyUserReferences(ids);
+                postFeedRowRepository.nullifyUserReferences(ids);
+            }
+            return ids.size();
+        });
+        return found == null ? 0 : found;
+    }
+
+    @PreDestroy
+    void close() {
+        // 처리 중인 청크는 트랜잭션 단위로 끝나거나 롤백되고, 남은 부분은 다음 기동 때 이어서 처리됨
+        worker.shutdownNow();
+    }
+}
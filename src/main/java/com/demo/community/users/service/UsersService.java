@@ -1,10 +1,13 @@
 package com.demo.community.users.service;
 
 import com.demo.community.common.dto.ApiResponse;
-import com.demo.community.likes.domain.repository.LikesPostsRepository;
+import com.demo.community.common.transaction.AfterCommit;
 import com.demo.community.posts.domain.entity.Posts;
-import com.demo.community.posts.domain.repository.PostRepository;
-import com.demo.community.replies.domain.repository.RepliesRepository;
+import com.demo.community.replies.cache.ReplyFirstPageCache;
+import com.demo.community.users.cache.AuthorCache;
+import com.demo.community.users.cache.DeletedUserIds;
+import com.demo.community.users.cache.NicknameAutocomplete;
+import com.demo.community.users.cache.UserAvailabilityFilter;
 import com.demo.community.users.domain.enitty.Users;
 import com.demo.community.users.domain.repository.UserRepository;
 import com.demo.community.users.dto.UsersRequestDTO;
@@ -19,6 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -29,6 +33,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -56,9 +61,14 @@ public class UsersService {
 
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
-    private final PostRepository postRepository;
-    private final RepliesRepository repliesRepository;
-    private final LikesPostsRepository likesPostsRepository;
+    private final NicknameAutocomplete nicknameAutocomplete;
+    private final UserAvailabilityFilter userAvailabilityFilter;
+    private final AuthorCache authorCache;
+    private final DeletedUserIds deletedUserIds;
+    private final ReplyFirstPageCache replyFirstPageCache;
+    private final UserDeletionJob userDeletionJob;
+
+    private static final int MAX_NICKNAME_SUGGESTIONS = 20;
 
     @Transactional
     public Long creatUser(UsersRequestDTO.UserCreateRequest req){
@@ -84,12 +94,18 @@ public class UsersService {
                 .build();
 
         userRepository.save(user);
+        AfterCommit.run(() -> nicknameAutocomplete.add(user.getNickname()));
 
         return user.getId();
     }
 
-    @Transactional
+    // 가입 화면에서 입력마다 호출됨. Bloom filter 가 "없음" 이면 DB 를 보지 않고 바로 사용 가능
+    // 트랜잭션을 열지 않아야 (SUPPORTS) 빠른 경로에서 커넥션을 잡지 않음. DB 확인이 필요할 때만 리포지토리가 읽기 전용 트랜잭션을 엶
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Boolean checkEmail (UsersRequestDTO.EmailCheckRequest req){
+        if (!userAvailabilityFilter.mightContainEmail(req.getEmail())) {
+            return Boolean.TRUE;
+        }
         Optional<Users> checkEmail = userRepository.findFirstByEmail(req.getEmail());
 
         if(checkEmail.isPresent()) {
@@ -99,8 +115,11 @@ public class UsersService {
         }
     }
 
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Boolean checkNickname (UsersRequestDTO.NicknameCheckRequest req){
+        if (!userAvailabilityFilter.mightContainNickname(req.getNickname())) {
+            return Boolean.TRUE;
+        }
         Optional<Users> checkNickname = userRepository.findFirstByNickname(req.getNickname());
 
         if(checkNickname.isPresent()) {
@@ -130,6 +149,7 @@ public class UsersService {
     public UsersResponseDTO.UserInfoResponse getUser (Long userId){
 
         Users user = userRepository.findById(userId)
+                .filter(u -> !u.isDeleted())
                 .orElseThrow(() -> new EntityNotFoundException("user not found"));
 
         return UsersResponseDTO.UserInfoResponse.builder()
@@ -156,6 +176,7 @@ public class UsersService {
         }
 
         Users user = userRepository.findById(userId)
+                .filter(u -> !u.isDeleted())
                 .orElseThrow(() -> new EntityNotFoundException("user not found"));
 
         // 기존 비밀번호 확인
@@ -181,12 +202,25 @@ public class UsersService {
         }
 
         Users user = userRepository.findById(userId)
+                .filter(u -> !u.isDeleted())
                 .orElseThrow(() -> new EntityNotFoundException("user not found"));
 
+        String beforeNickname = user.getNickname();
         user.updateUser(request.getNickname(), request.getProfileImage());
 
         userRepository.flush();
 
+        // 글 목록/상세는 작성자 id 만 들고 있고 닉네임/이미지는 작성자 캐시에서 채우므로 캐시만 지우면 됨
+        AfterCommit.run(() -> {
+            authorCache.evict(userId);
+            replyFirstPageCache.evictByAuthor(userId);
+        });
+
+        String afterNickname = user.getNickname();
+        if (!Objects.equals(beforeNickname, afterNickname)) {
+            AfterCommit.run(() -> nicknameAutocomplete.rename(beforeNickname, afterNickname));
+        }
+
         return UsersResponseDTO.UserInfoResponse.builder()
                 .userId(user.getId())
                 .userImage(user.getProfileImage())
@@ -207,15 +241,34 @@ public class UsersService {
             throw new EntityNotFoundException("delete forbidden user");
         }
 
-        Optional<Users> user = userRepository.findById(userId);
+        Optional<Users> user = userRepository.findById(userId).filter(u -> !u.isDeleted());
         if (user.isEmpty()){throw new EntityNotFoundException("user not found");}
 
         // Post, 댓글은 안지우고 FK를 null로 만들고, 게시글 좋아요만 지우면 됨.
-        postRepository.nullifyUserReferences(userId);
-        repliesRepository.nullifyUserReferences(userId);
-        likesPostsRepository.deleteByUsersId(userId);
+        // 행이 많은 회원은 한 트랜잭션에서 처리하면 락을 오래 잡으므로 탈퇴 표시만 하고 UserDeletionJob 이 나눠서 정리함
+        user.get().markDeleted();
+
+        String nickname = user.get().getNickname();
+        AfterCommit.run(() -> {
+            // 작성자 정보는 바로 사라지고 (탈퇴 중인 회원은 작성자 조회에서 빠짐), 나머지 캐시는 정리가 끝난 뒤 지움
+            nicknameAutocomplete.remove(nickname);
+            deletedUserIds.add(userId);
+            authorCache.evict(userId);
+            replyFirstPageCache.evictByAuthor(userId);
+            userDeletionJob.enqueue(userId);
+        });
+    }
+
+    // 닉네임 자동완성. 메모리 트리만 보므로 DB 커넥션을 잡지 않음
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UsersResponseDTO.NicknameSuggestResponse suggestNicknames(String prefix, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_NICKNAME_SUGGESTIONS));
+        List<String> nicknames = (prefix == null || prefix.isBlank())
+                ? List.of()
+                : nicknameAutocomplete.suggest(prefix, limit);
 
-        userRepository.deleteById(userId);
+        return UsersResponseDTO.NicknameSuggestResponse.builder()
+                .nicknames(nicknames).build();
     }
 
 }
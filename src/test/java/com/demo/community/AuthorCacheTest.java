@@ -0,0 +1,65 @@
+package com.demo.community;
+
+import com.demo.community.users.cache.AuthorCache;
+import com.demo.community.users.domain.enitty.Users;
+import com.demo.community.users.domain.repository.UserRepository;
+import com.demo.community.users.dto.AuthorSummary;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 작성자 조회는 새 트랜잭션에서 읽으므로 데이터를 커밋하고 끝나면 지움
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthorCacheTest {
+
+	@Autowired
+	AuthorCache authorCache;
+
+	@Autowired
+	UserRepository userRepository;
+
+	List<Users> users = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		userRepository.deleteAll(users);
+	}
+
+	@Test
+	@DisplayName("두 번째 조회는 캐시에서, 무효화 후에는 다시 DB 에서 읽음")
+	void secondLookupHitsCacheUntilEvicted() {
+		// given
+		for (int i = 0; i < 3; i++) {
+			users.add(userRepository.save(Users.builder()
+					.email("author" + i + "@test.com").password("pw").nickname("author" + i).profileImage("img" + i).build()));
+		}
+		List<Long> ids = users.stream().map(Users::getId).toList();
+		AuthorCache.Stats before = authorCache.stats();
+
+		// when
+		Map<Long, AuthorSummary> first = authorCache.getAll(ids);
+		Map<Long, AuthorSummary> second = authorCache.getAll(ids);
+		AuthorCache.Stats after = authorCache.stats();
+
+		// then
+		assertEquals(3, first.size());
+		assertEquals("author1", second.get(ids.get(1)).nickname());
+		assertEquals(3, after.misses() - before.misses());
+		assertEquals(3, after.hits() - before.hits());
+
+		// 프로필 수정 후 무효화되면 바뀐 값을 다시 읽음
+		users.getFirst().updateUser("renamed", null);
+		userRepository.save(users.getFirst());
+		authorCache.evict(ids.getFirst());
+		assertEquals("renamed", authorCache.get(ids.getFirst()).nickname());
+		assertNull(authorCache.get(-1L));
+	}
+}
@@ -0,0 +1,65 @@
+package com.demo.community;
+
+import com.demo.community.common.counter.DeltaAccumulator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.demo.community.TestSupport.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// add() 와 drain()/complete()/restore() 가 동시에 돌아도 증분이 하나도 빠지거나 두 번 세어지지 않는지 확인
+class DeltaAccumulatorTest {
+
+	static final int ADDS_PER_TASK = 20_000;
+	static final long KEYS = 4;
+
+	@Test
+	void concurrentAddAndDrainKeepTotals() throws Exception {
+		DeltaAccumulator acc = new DeltaAccumulator();
+		AtomicLong[] flushed = new AtomicLong[(int) KEYS];
+		for (int i = 0; i < KEYS; i++) {
+			flushed[i] = new AtomicLong();
+		}
+		AtomicBoolean stop = new AtomicBoolean();
+
+		// flush 스레드: 꺼낸 증분을 번갈아 반영 성공(complete)/실패(restore) 처리
+		Thread flusher = new Thread(() -> {
+			boolean fail = false;
+			while (!stop.get()) {
+				Map<Long, Long> drained = acc.drain();
+				if (fail) {
+					acc.restore(drained);
+				} else {
+					drained.forEach((key, delta) -> flushed[key.intValue()].addAndGet(delta));
+					acc.complete(drained);
+				}
+				fail = !fail;
+			}
+		});
+		flusher.start();
+
+		// 키마다 +1 과 -1 을 섞되 합계는 +1 씩 쌓이게 함 (0 이 되는 순간 엔트리가 지워지는 경로도 지나감)
+		runConcurrently(THREADS, i -> {
+			for (int n = 0; n < ADDS_PER_TASK; n++) {
+				long key = n % KEYS;
+				acc.add(key, 2);
+				acc.add(key, -1);
+			}
+		});
+		stop.set(true);
+		flusher.join();
+
+		Map<Long, Long> rest = acc.drain();
+		rest.forEach((key, delta) -> flushed[key.intValue()].addAndGet(delta));
+		acc.complete(rest);
+
+		long expected = THREADS * ADDS_PER_TASK / KEYS;
+		for (long key = 0; key < KEYS; key++) {
+			assertEquals(expected, flushed[(int) key].get());
+			assertEquals(0, acc.pending(key));
+		}
+	}
+}
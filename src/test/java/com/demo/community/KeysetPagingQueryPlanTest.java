@@ -0,0 +1,240 @@
+package com.demo.community;
+
+import com.demo.community.likes.domain.entity.LikesPosts;
+import com.demo.community.likes.domain.repository.LikesPostsRepository;
+import com.demo.community.posts.domain.entity.Posts;
+import com.demo.community.posts.domain.repository.PostQueryRepository;
+import com.demo.community.posts.domain.repository.PostRepository;
+import com.demo.community.replies.domain.entity.Replies;
+import com.demo.community.replies.domain.repository.RepliesRepository;
+import com.demo.community.replies.domain.repository.ReplyThreadQueryRepository;
+import com.demo.community.users.domain.enitty.Users;
+import com.demo.community.users.domain.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 커서 페이징 쿼리가 H2(MySQL 모드) 실행계획에서 테이블 풀스캔 + 정렬로 빠지지 않는지 확인
+@SpringBootTest(properties =
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.demo.community.KeysetPagingQueryPlanTest$SqlCapture")
+@ActiveProfiles("test")
+@Transactional
+class KeysetPagingQueryPlanTest {
+
+	// Hibernate 가 실제로 만든 SQL 을 모아두는 inspector
+	public static class SqlCapture implements StatementInspector {
+		static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			SQL.add(sql);
+			return sql;
+		}
+	}
+
+	@Autowired
+	PostQueryRepository postQueryRepository;
+
+	@Autowired
+	RepliesRepository repliesRepository;
+
+	@Autowired
+	ReplyThreadQueryRepository replyThreadQueryRepository;
+
+	@Autowired
+	PostRepository postRepository;
+
+	@Autowired
+	LikesPostsRepository likesPostsRepository;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	Long postId;
+	Long userId;
+
+	@BeforeEach
+	void setUp() {
+		// 옵티마이저가 빈 테이블 기준으로 조인 순서를 고르지 않도록 데이터를 조금 넣어둠
+		Users user = userRepository.save(Users.builder()
+				.email("plan@test.com").password("pw").nickname("plan").profileImage("none").build());
+		Posts post = postRepository.save(Posts.builder().title("t").content("c").user(user).build());
+		for (int i = 0; i < 50; i++) {
+			repliesRepository.save(Replies.builder().content("r" + i).users(user).posts(post).build());
+		}
+		repliesRepository.flush();
+		likesPostsRepository.saveAndFlush(LikesPosts.builder().users(user).posts(post).build());
+		postId = post.getId();
+		userId = user.getId();
+		SqlCapture.SQL.clear();
+	}
+
+	@Test
+	@DisplayName("글 목록 첫 페이지 / 오래된 방향 / 새로운 방향 모두 인덱스 범위 읽기")
+	void feedPagesUseIndexRange() {
+		// when
+		postQueryRepository.findPostList(null, 21);
+		postQueryRepository.findPostList(100L, 21);
+		postQueryRepository.findNewerPostList(100L, 21);
+
+		// then
+		List<String> selects = capturedSelectsFrom("post_feed");
+		assertEquals(3, selects.size());
+		selects.forEach(sql -> assertIndexRangeRead(sql, "POST_FEED"));
+	}
+
+	@Test
+	@DisplayName("댓글 목록 오래된 방향 / 새로운 방향 모두 인덱스 범위 읽기")
+	void replyPagesUseIndexRange() {
+		// when
+		repliesRepository.findSliceByPostId(postId, Long.MAX_VALUE, PageRequest.of(0, 21));
+		repliesRepository.findNewerSliceByPostId(postId, 10L, PageRequest.of(0, 21));
+
+		// then
+		List<String> selects = capturedSelectsFrom("replies");
+		assertEquals(2, selects.size());
+		selects.forEach(sql -> assertIndexRangeRead(sql, "REPLIES"));
+	}
+
+	@Test
+	@DisplayName("스레드 페이지는 replies 를 인덱스로만 읽고, 서브트리는 경로 인덱스 범위 읽기")
+	void threadPagesUseIndexRange() {
+		// when
+		replyThreadQueryRepository.findThreadPage(postId, "", 21, 3);
+		repliesRepository.findPathRange(postId, "7FFF", "8000", PageRequest.of(0, 51));
+
+		// then
+		List<String> thread = SqlCapture.SQL.stream()
+				.filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith("with"))
+				.toList();
+		assertEquals(1, thread.size());
+		assertNoTableScan(thread.getFirst(), "REPLIES");
+
+		List<String> selects = capturedSelectsFrom("replies");
+		assertEquals(1, selects.size());
+		selects.forEach(sql -> assertIndexRangeRead(sql, "REPLIES"));
+	}
+
+	@Test
+	@DisplayName("좋아요한 글 목록 오래된 방향 / 새로운 방향 모두 (user_id, id) 인덱스 범위 읽기")
+	void likedPagesUseIndexRange() {
+		// when
+		postQueryRepository.findLikedPostList(userId, null, 21);
+		postQueryRepository.findNewerLikedPostList(userId, 10L, 21);
+
+		// then
+		List<String> selects = capturedSelectsFrom("likes_posts");
+		assertEquals(2, selects.size());
+		selects.forEach(sql -> assertIndexRangeRead(sql, "LIKES_POSTS"));
+	}
+
+		List<String> capturedSelectsFrom(String table) {
+		return SqlCapture.SQL.stream()
+				.filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith("select"))
+				.filter(sql -> sql.toLowerCase(Locale.ROOT).contains(" from " + table + " "))
+				.toList();
+	}
+
+	// 1. 페이징 대상 테이블은 인덱스 조건으로 접근 (tableScan 아님)
+	// 2. ORDER BY 컬럼이 그 인덱스의 앞부분과 같은 순서 (정방향 또는 역방향 스캔으로 정렬 없이 읽을 수 있음)
+	void assertIndexRangeRead(String sql, String table) {
+		String plan = explain(sql).replace("\"", "");
+
+		Matcher m = Pattern.compile("(?:FROM|JOIN) PUBLIC\\." + table + " \\S+\\s*/\\* ([^\\n]*?) \\*/").matcher(plan);
+		assertTrue(m.find(), "no access path for " + table + " in plan:\n" + plan);
+		String access = m.group(1);
+		assertFalse(access.contains("tableScan"), "table scan on " + table + ":\n" + plan);
+		assertTrue(access.contains(":"), "index without range condition on " + table + ":\n" + plan);
+
+		String indexName = access.substring(access.indexOf('.') + 1, access.indexOf(':')).trim();
+		List<String> indexColumns = indexColumns(table, indexName);
+
+		List<String> orderBy = orderByColumns(sql);
+		assertFalse(orderBy.isEmpty(), "no order by in:\n" + sql);
+		boolean allDesc = orderBy.stream().allMatch(c -> c.endsWith(" desc"));
+		boolean allAsc = orderBy.stream().noneMatch(c -> c.endsWith(" desc"));
+		assertTrue(allDesc || allAsc, "mixed sort direction:\n" + sql);
+
+		List<String> sortColumns = orderBy.stream().map(c -> c.split(" ")[0]).toList();
+		assertTrue(sortColumns.size() <= indexColumns.size()
+						&& indexColumns.subList(0, sortColumns.size()).equals(sortColumns),
+				"order by " + sortColumns + " is not a prefix of " + indexName + indexColumns + ":\n" + plan);
+	}
+
+	// CTE 처럼 한 쿼리에서 같은 테이블을 여러 번 읽을 때: 모든 접근이 인덱스 조건으로 (tableScan 아님)
+	void assertNoTableScan(String sql, String table) {
+		String plan = explain(sql).replace("\"", "");
+
+		Matcher m = Pattern.compile("(?:FROM|JOIN) PUBLIC\\." + table + " \\S+\\s*/\\* ([^\\n]*?) \\*/").matcher(plan);
+		int accesses = 0;
+		while (m.find()) {
+			accesses++;
+			assertFalse(m.group(1).contains("tableScan"), "table scan on " + table + ":\n" + plan);
+		}
+		assertTrue(accesses > 0, "no access path for " + table + " in plan:\n" + plan);
+	}
+
+	String explain(String sql) {
+		return jdbcTemplate.execute((ConnectionCallback<String>) con -> {
+			try (PreparedStatement ps = con.prepareStatement("EXPLAIN " + sql)) {
+				int params = ps.getParameterMetaData().getParameterCount();
+				for (int i = 1; i <= params; i++) {
+					ps.setLong(i, 1L);
+				}
+				try (ResultSet rs = ps.executeQuery()) {
+					rs.next();
+					return rs.getString(1);
+				}
+			}
+		});
+	}
+
+	List<String> indexColumns(String table, String indexName) {
+		return jdbcTemplate.execute((ConnectionCallback<List<String>>) con -> {
+			DatabaseMetaData meta = con.getMetaData();
+			List<String> columns = new ArrayList<>();
+			try (ResultSet rs = meta.getIndexInfo(null, "PUBLIC", table, false, false)) {
+				while (rs.next()) {
+					if (indexName.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+						columns.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+					}
+				}
+			}
+			return columns;
+		});
+	}
+
+	// "order by r1_0.post_id desc,r1_0.id desc offset ..." -> ["post_id desc", "id desc"]
+	List<String> orderByColumns(String sql) {
+		Matcher m = Pattern.compile(" order by (.+?)(?: offset | fetch | limit |$)")
+				.matcher(sql.toLowerCase(Locale.ROOT));
+		if (!m.find()) {return List.of();}
+		return Arrays.stream(m.group(1).split(","))
+				.map(String::trim)
+				.map(c -> c.substring(c.indexOf('.') + 1))
+				.map(c -> c.endsWith(" asc") ? c.substring(0, c.length() - 4) : c)
+				.toList();
+	}
+}
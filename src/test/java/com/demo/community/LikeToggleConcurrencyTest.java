@@ -0,0 +1,141 @@
+package com.demo.community;
+
+import com.demo.community.likes.service.LikesPostsService;
+import com.demo.community.posts.cache.LikeCountAggregator;
+import com.demo.community.posts.dto.PostRequestDTO;
+import com.demo.community.posts.service.PostService;
+import com.demo.community.users.domain.enitty.Users;
+import com.demo.community.users.domain.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.demo.community.TestSupport.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// 여러 스레드가 동시에 PUT /likes/posts/{postId} 를 보내도 좋아요 행 수와 (집계기 반영 후) 카운터가 어긋나지 않는지,
+// 한 번 누를 때 SQL 이 2개 (조건부 insert/delete + 카운트 조회) 를 넘지 않는지 확인
+@SpringBootTest(properties =
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.demo.community.LikeToggleConcurrencyTest$SqlCapture")
+@ActiveProfiles("test")
+class LikeToggleConcurrencyTest {
+
+	public static class SqlCapture implements StatementInspector {
+		static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			SQL.add(sql);
+			return sql;
+		}
+	}
+
+	@Autowired
+	LikesPostsService likesPostsService;
+
+	@Autowired
+	PostService postService;
+
+	@Autowired
+	LikeCountAggregator likeCountAggregator;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	List<Long> userIds = new ArrayList<>();
+	Long postId;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < 10; i++) {
+			Users user = userRepository.save(Users.builder()
+					.email("toggle" + i + "@test.com").password("pw").nickname("toggle" + i).profileImage("none").build());
+			userIds.add(user.getId());
+		}
+		PostRequestDTO.PostCreateRequest req = PostRequestDTO.PostCreateRequest.builder()
+				.title("t").content("c").build();
+		postId = postService.createPost(req, requestOf(userIds.getFirst())).getPostId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM likes_posts WHERE post_id = ?", postId);
+		jdbcTemplate.update("DELETE FROM post_feed WHERE id = ?", postId);
+		jdbcTemplate.update("DELETE FROM post_view_counts WHERE id = ?", postId);
+		jdbcTemplate.update("DELETE FROM post_count_slots WHERE post_id = ?", postId);
+		jdbcTemplate.update("DELETE FROM posts_counts WHERE id = ?", postId);
+		jdbcTemplate.update("DELETE FROM posts WHERE id = ?", postId);
+		userRepository.deleteAllById(userIds);
+	}
+
+	@Test
+	@DisplayName("같은 유저가 동시에 좋아요를 여러 번 눌러도 한 행, 카운트 1")
+	void sameUserConcurrentLikeIsIdempotent() throws Exception {
+		// when
+		runConcurrently(200, i -> likesPostsService.likeToggle(postId, true, requestOf(userIds.getFirst())));
+
+		// then
+		likeCountAggregator.flush();
+		assertEquals(1, likeRows());
+		assertEquals(1, postsCountsLikes());
+		assertEquals(1, postFeedLikes());
+	}
+
+	@Test
+	@DisplayName("여러 유저가 동시에 좋아요/취소를 섞어 보내도 카운터 = 좋아요 행 수")
+	void mixedConcurrentTogglesKeepCounterConsistent() throws Exception {
+		// when
+		runConcurrently(2_000, i -> likesPostsService.likeToggle(
+				postId, ThreadLocalRandom.current().nextBoolean(),
+				requestOf(userIds.get(ThreadLocalRandom.current().nextInt(userIds.size())))));
+
+		// then
+		likeCountAggregator.flush();
+		int rows = likeRows();
+		assertTrue(rows <= userIds.size());
+		assertEquals(rows, postsCountsLikes());
+		assertEquals(rows, postFeedLikes());
+	}
+
+	@Test
+	@DisplayName("좋아요 상태 맞추기는 바뀌었든 이미 그 상태든 SQL 2개 이하")
+	void toggleCostsAtMostTwoStatements() {
+		for (boolean liked : new boolean[]{true, true, false, false}) {
+			// when
+			SqlCapture.SQL.clear();
+			likesPostsService.likeToggle(postId, liked, requestOf(userIds.getFirst()));
+
+			// then
+			assertTrue(SqlCapture.SQL.size() <= 2, "liked=" + liked + " ran " + SqlCapture.SQL);
+		}
+		likeCountAggregator.flush();
+		assertEquals(0, likeRows());
+	}
+
+	int likeRows() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM likes_posts WHERE post_id = ?", Integer.class, postId);
+	}
+
+	int postsCountsLikes() {
+		// 슬롯 0 (posts_counts) + 나머지 슬롯
+		return jdbcTemplate.queryForObject("""
+				SELECT c.like_counts + COALESCE((SELECT SUM(s.like_counts) FROM post_count_slots s WHERE s.post_id = c.id), 0)
+				FROM posts_counts c WHERE c.id = ?
+				""", Integer.class, postId);
+	}
+
+	int postFeedLikes() {
+		return jdbcTemplate.queryForObject("SELECT like_counts FROM post_feed WHERE id = ?", Integer.class, postId);
+	}
+}
@@ -0,0 +1,120 @@
+package com.demo.community;
+
+import com.demo.community.posts.cache.ReplyCountAggregator;
+import com.demo.community.posts.dto.PostRequestDTO;
+import com.demo.community.posts.service.PostService;
+import com.demo.community.replies.dto.RepliesRequestDTO;
+import com.demo.community.replies.service.RepliesService;
+import com.demo.community.users.domain.enitty.Users;
+import com.demo.community.users.domain.repository.UserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.demo.community.TestSupport.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// 한 글에 댓글 작성/삭제가 동시에 몰려도 (집계기 반영 후) posts_counts / post_feed 의 댓글 수 = 댓글 행 수인지 확인
+@SpringBootTest
+@ActiveProfiles("test")
+class ReplyCountConcurrencyTest {
+
+	@Autowired
+	RepliesService repliesService;
+
+	@Autowired
+	PostService postService;
+
+	@Autowired
+	ReplyCountAggregator replyCountAggregator;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	Long userId;
+	Long postId;
+
+	@BeforeEach
+	void setUp() {
+		Users user = userRepository.save(Users.builder()
+				.email("replycount@test.com").password("pw").nickname("replycount").profileImage("none").build());
+		userId = user.getId();
+		PostRequestDTO.PostCreateRequest req = PostRequestDTO.PostCreateRequest.builder()
+				.title("t").content("c").build();
+		postId = postService.createPost(req, requestOf(userId)).getPostId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM replies WHERE post_id = ?", postId);
+		jdbcTemplate.update("DELETE FROM post_feed WHERE id = ?", postId);
+		jdbcTemplate.update("DELETE FROM post_view_counts WHERE id = ?", postId);
+		jdbcTemplate.update("DELETE FROM posts_counts WHERE id = ?", postId);
+		jdbcTemplate.update("DELETE FROM posts WHERE id = ?", postId);
+		userRepository.deleteById(userId);
+	}
+
+	@Test
+	@DisplayName("동시에 댓글을 달아도 반영 후 카운터에 전부 잡힘")
+	void concurrentRepliesAreAllCounted() throws Exception {
+		// when
+		runConcurrently(300, i -> createReply("reply " + i));
+
+		// then
+		replyCountAggregator.flush();
+		assertEquals(300, replyRows());
+		assertEquals(0, replyCountAggregator.pending(postId));
+		assertEquals(300, postsCountsReplies());
+		assertEquals(300, postFeedReplies());
+	}
+
+	@Test
+	@DisplayName("작성과 삭제가 섞여도 카운터 = 댓글 행 수")
+	void mixedCreateAndDeleteKeepCounterConsistent() throws Exception {
+		// given
+		List<Long> replyIds = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			replyIds.add(createReply("old " + i));
+		}
+
+		// when
+		runConcurrently(200, i -> {
+			if (i < 100) {
+				repliesService.deleteReply(replyIds.get(i), requestOf(userId));
+			} else {
+				createReply("new " + i);
+			}
+		});
+
+		// then
+		replyCountAggregator.flush();
+		assertEquals(100, replyRows());
+		assertEquals(100, postsCountsReplies());
+		assertEquals(100, postFeedReplies());
+	}
+
+	Long createReply(String content) {
+		return repliesService.createReply(requestOf(userId),
+				RepliesRequestDTO.ReplyCreateRequest.builder().postId(postId).content(content).build()).getId();
+	}
+
+	int replyRows() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM replies WHERE post_id = ?", Integer.class, postId);
+	}
+
+	int postsCountsReplies() {
+		return jdbcTemplate.queryForObject("SELECT reply_counts FROM posts_counts WHERE id = ?", Integer.class, postId);
+	}
+
+	int postFeedReplies() {
+		return jdbcTemplate.queryForObject("SELECT reply_counts FROM post_feed WHERE id = ?", Integer.class, postId);
+	}
+}
@@ -0,0 +1,132 @@
+package com.demo.community;
+
+import com.demo.community.posts.domain.entity.Posts;
+import com.demo.community.posts.domain.repository.PostRepository;
+import com.demo.community.replies.domain.entity.Replies;
+import com.demo.community.replies.domain.entity.ReplyPath;
+import com.demo.community.replies.domain.repository.RepliesRepository;
+import com.demo.community.replies.dto.RepliesResponseDTO;
+import com.demo.community.replies.service.RepliesService;
+import com.demo.community.users.domain.enitty.Users;
+import com.demo.community.users.domain.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 댓글 한 페이지가 페이지 크기와 상관없이 SQL 2개 (댓글 projection + 작성자 IN 조회) 안에 끝나는지 확인
+// (작성자 조회는 새 트랜잭션에서 읽으므로 데이터를 커밋하고 끝나면 지움)
+@SpringBootTest(properties =
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.demo.community.ReplyPageQueryCountTest$SqlCapture")
+@ActiveProfiles("test")
+class ReplyPageQueryCountTest {
+
+	public static class SqlCapture implements StatementInspector {
+		static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			SQL.add(sql);
+			return sql;
+		}
+	}
+
+	@Autowired
+	RepliesService repliesService;
+
+	@Autowired
+	RepliesRepository repliesRepository;
+
+	@Autowired
+	PostRepository postRepository;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	Long postId;
+	List<Long> userIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate.executeWithoutResult(status -> createThread());
+		SqlCapture.SQL.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM replies WHERE post_id = ?", postId);
+		jdbcTemplate.update("DELETE FROM posts WHERE id = ?", postId);
+		userRepository.deleteAllById(userIds);
+	}
+
+	void createThread() {
+		// 작성자 20명이 번갈아 댓글 60개 (최상위) + 첫 댓글에 답글 5개
+		List<Users> users = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			users.add(userRepository.save(Users.builder()
+					.email("count" + i + "@test.com").password("pw").nickname("count" + i).profileImage("img" + i).build()));
+		}
+		Posts post = postRepository.save(Posts.builder().title("t").content("c").user(users.getFirst()).build());
+		Replies root = null;
+		for (int i = 0; i < 60; i++) {
+			Replies reply = repliesRepository.save(Replies.builder()
+					.content("r" + i).users(users.get(i % users.size())).posts(post).build());
+			reply.setPath(ReplyPath.root(reply.getId()));
+			if (root == null) {root = reply;}
+		}
+		for (int seq = 1; seq <= 5; seq++) {
+			repliesRepository.save(Replies.builder()
+					.content("child" + seq).users(users.get(seq)).posts(post)
+					.parentId(root.getId()).depth(1).seq(seq).path(ReplyPath.child(root.getPath(), seq)).build());
+		}
+		root.setChildSeq(5);
+		postId = post.getId();
+		users.forEach(user -> userIds.add(user.getId()));
+	}
+
+	@Test
+	@DisplayName("댓글 목록은 페이지 크기와 상관없이 SQL 2개 이하")
+	void replyPageCostsAtMostTwoStatements() {
+		for (int size : new int[]{1, 5, 20, 50}) {
+			// when
+			SqlCapture.SQL.clear();
+			RepliesResponseDTO.ReplyListSliceResponse page =
+					repliesService.getReplyList(postId, Long.MAX_VALUE, null, size);
+
+			// then
+			assertEquals(size, page.getItems().size());
+			assertTrue(page.getItems().stream().allMatch(item -> item.getNickname() != null));
+			assertTrue(SqlCapture.SQL.size() <= 2, "size " + size + " ran " + SqlCapture.SQL);
+		}
+	}
+
+	@Test
+	@DisplayName("스레드 목록도 답글 포함 SQL 2개 이하")
+	void threadPageCostsAtMostTwoStatements() {
+		for (int size : new int[]{1, 10, 50}) {
+			// when
+			SqlCapture.SQL.clear();
+			RepliesResponseDTO.ReplyListSliceResponse page = repliesService.getThreadList(postId, null, size, 3);
+
+			// then
+			assertFalse(page.getItems().isEmpty());
+			assertTrue(page.getItems().stream().allMatch(item -> item.getNickname() != null));
+			assertTrue(SqlCapture.SQL.size() <= 2, "size " + size + " ran " + SqlCapture.SQL);
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.demo.community;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+// 서비스 테스트 공용 도우미.
+// runConcurrently 를 쓰는 테스트는 스레드마다 트랜잭션이 따로 커밋되어야 하므로 테스트 클래스에 @Transactional 을 붙이지 않는다.
+final class TestSupport {
+
+	static final int THREADS = 8;
+
+	private TestSupport() {}
+
+	interface IntConsumerWithException {
+		void accept(int i) throws Exception;
+	}
+
+	// tasks 개의 작업을 THREADS 개 스레드에서 한꺼번에 출발시키고 모두 끝날 때까지 기다림 (작업 예외는 그대로 던짐)
+	static void runConcurrently(int tasks, IntConsumerWithException task) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < tasks; i++) {
+			int n = i;
+			futures.add(pool.submit(() -> {
+				start.await();
+				task.accept(n);
+				return null;
+			}));
+		}
+		start.countDown();
+		try {
+			for (Future<?> f : futures) {
+				f.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	// JwtAuthFilter 를 거친 것처럼 userId 속성만 채운 요청
+	static MockHttpServletRequest requestOf(Long userId) {
+		MockHttpServletRequest req = new MockHttpServletRequest();
+		req.setAttribute("userId", userId);
+		return req;
+	}
+}
@@ -0,0 +1,124 @@
+package com.demo.community;
+
+import com.demo.community.likes.service.LikesPostsService;
+import com.demo.community.posts.cache.LikeCountAggregator;
+import com.demo.community.posts.dto.PostRequestDTO;
+import com.demo.community.posts.service.PostService;
+import com.demo.community.replies.dto.RepliesRequestDTO;
+import com.demo.community.replies.service.RepliesService;
+import com.demo.community.users.domain.enitty.Users;
+import com.demo.community.users.domain.repository.UserRepository;
+import com.demo.community.users.service.UsersService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.demo.community.TestSupport.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// 탈퇴 요청은 표시만 하고, 백그라운드 작업이 좋아요/댓글/글을 정리한 뒤 회원 행을 지우는지 확인
+// (작업이 별도 스레드에서 자기 트랜잭션으로 커밋하므로 @Transactional 을 붙이지 않음)
+@SpringBootTest
+@ActiveProfiles("test")
+class UserDeletionJobTest {
+
+	@Autowired
+	UsersService usersService;
+
+	@Autowired
+	PostService postService;
+
+	@Autowired
+	RepliesService repliesService;
+
+	@Autowired
+	LikesPostsService likesPostsService;
+
+	@Autowired
+	LikeCountAggregator likeCountAggregator;
+
+	@Autowired
+	UserRepository userRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	Long writerId;
+	Long leavingId;
+	List<Long> postIds = new ArrayList<>();
+	Long ownPostId;
+
+	@BeforeEach
+	void setUp() {
+		writerId = userRepository.save(Users.builder()
+				.email("writer@test.com").password("pw").nickname("writer").profileImage("none").build()).getId();
+		leavingId = userRepository.save(Users.builder()
+				.email("leaving@test.com").password("pw").nickname("leaving").profileImage("none").build()).getId();
+
+		// 다른 사람 글 5개에 좋아요 + 댓글, 자기 글 1개
+		for (int i = 0; i < 5; i++) {
+			Long postId = postService.createPost(PostRequestDTO.PostCreateRequest.builder()
+					.title("t" + i).content("c").build(), requestOf(writerId)).getPostId();
+			postIds.add(postId);
+			likesPostsService.likeToggle(postId, true, requestOf(leavingId));
+			repliesService.createReply(requestOf(leavingId),
+					RepliesRequestDTO.ReplyCreateRequest.builder().postId(postId).content("r" + i).build());
+		}
+		ownPostId = postService.createPost(PostRequestDTO.PostCreateRequest.builder()
+				.title("own").content("c").build(), requestOf(leavingId)).getPostId();
+		postIds.add(ownPostId);
+		likeCountAggregator.flush();
+	}
+
+	@AfterEach
+	void tearDown() {
+		for (Long postId : postIds) {
+			jdbcTemplate.update("DELETE FROM likes_posts WHERE post_id = ?", postId);
+			jdbcTemplate.update("DELETE FROM replies WHERE post_id = ?", postId);
+			jdbcTemplate.update("DELETE FROM post_feed WHERE id = ?", postId);
+			jdbcTemplate.update("DELETE FROM post_view_counts WHERE id = ?", postId);
+			jdbcTemplate.update("DELETE FROM post_count_slots WHERE post_id = ?", postId);
+			jdbcTemplate.update("DELETE FROM posts_counts WHERE id = ?", postId);
+			jdbcTemplate.update("DELETE FROM posts WHERE id = ?", postId);
+		}
+		userRepository.deleteAllById(List.of(writerId));
+		jdbcTemplate.update("DELETE FROM users WHERE id = ?", leavingId);
+	}
+
+	@Test
+	@DisplayName("탈퇴 후 좋아요는 지워지고 카운터가 줄며, 댓글/글은 작성자만 비워짐")
+	void deletionCleansUpInBackground() throws Exception {
+		// when
+		usersService.deleteUser(leavingId, requestOf(leavingId));
+
+		// then
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (userRepository.existsById(leavingId) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertFalse(userRepository.existsById(leavingId));
+
+		assertEquals(0, count("SELECT COUNT(*) FROM likes_posts WHERE user_id = ?", leavingId));
+		assertEquals(0, count("SELECT COUNT(*) FROM replies WHERE user_id = ?", leavingId));
+		assertEquals(0, count("SELECT COUNT(*) FROM posts WHERE user_id = ?", leavingId));
+		assertEquals(5, count("SELECT COUNT(*) FROM replies WHERE user_id IS NULL AND post_id IN (?, ?, ?, ?, ?)",
+				postIds.subList(0, 5).toArray()));
+		assertEquals(0, count("SELECT COUNT(*) FROM post_feed WHERE id = ? AND user_id IS NOT NULL", ownPostId));
+		for (Long postId : postIds.subList(0, 5)) {
+			assertEquals(0, count("""
+					SELECT c.like_counts + COALESCE((SELECT SUM(s.like_counts) FROM post_count_slots s WHERE s.post_id = c.id), 0)
+					FROM posts_counts c WHERE c.id = ?
+					""", postId));
+			assertEquals(0, count("SELECT like_counts FROM post_feed WHERE id = ?", postId));
+		}
+	}
+
+	int count(String sql, Object... args) {
+		return jdbcTemplate.queryForObject(sql, Integer.class, args);
+	}
+}